@@ -0,0 +1,153 @@
+package net.flectone.pulse.backend.benchmark;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.MetricsDimension;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.TimeSeriesSnapshot;
+import net.flectone.pulse.backend.service.MetricsAggregator;
+import net.flectone.pulse.backend.util.VersionRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class AggregationBenchmark {
+
+    private static final int HOURS = 168;
+    private static final Instant HOUR = Instant.parse("2025-01-01T00:00:00Z");
+    private static final MetricsDimension[] DIMENSIONS = MetricsDimension.values();
+
+    @Param({"10000", "100000", "1000000"})
+    private int reports;
+
+    private final PulseProperties pulseProperties = new PulseProperties();
+    private final VersionRegistry versionRegistry = new VersionRegistry(pulseProperties);
+    private final MetricsAggregator aggregator = new MetricsAggregator(pulseProperties, versionRegistry);
+
+    private List<MetricsDTO> metrics;
+    private List<Map<MetricsDimension, Map<String, Long>>> hourlyCounts;
+
+    @Setup
+    public void setup() {
+        metrics = BenchmarkData.metrics(reports, HOURS);
+
+        hourlyCounts = metrics.stream()
+                .collect(Collectors.groupingBy(m -> m.getCreatedAt().truncatedTo(ChronoUnit.HOURS)))
+                .values().stream()
+                .map(AggregationBenchmark::count)
+                .toList();
+    }
+
+    @Benchmark
+    public MetricsSnapshot singlePass() {
+        return aggregator.aggregate(metrics, HOUR, ChartWindow.WEEK);
+    }
+
+    @Benchmark
+    public TimeSeriesSnapshot timeSeries() {
+        return aggregator.aggregateTimeSeries(metrics, HOUR, ChartWindow.WEEK);
+    }
+
+    @Benchmark
+    public Map<MetricsDimension, Map<String, Long>> streamGrouping() {
+        Map<MetricsDimension, Map<String, Long>> distributions = new EnumMap<>(MetricsDimension.class);
+
+        for (MetricsDimension dimension : DIMENSIONS) {
+            Map<String, Long> counts = metrics.stream()
+                    .collect(Collectors.groupingBy(dimension::classify, Collectors.counting()));
+
+            distributions.put(dimension, sort(counts, dimension.getSorter(versionRegistry)));
+        }
+
+        return distributions;
+    }
+
+    @Benchmark
+    public Map<MetricsDimension, Map<String, Long>> primitiveCounts() {
+        List<Map<String, Integer>> ids = new ArrayList<>(DIMENSIONS.length);
+        long[][] counts = new long[DIMENSIONS.length][];
+
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            ids.add(new HashMap<>());
+            counts[d] = new long[16];
+        }
+
+        for (MetricsDTO metricsDTO : metrics) {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                Map<String, Integer> dimensionIds = ids.get(d);
+
+                String key = DIMENSIONS[d].classify(metricsDTO);
+                Integer id = dimensionIds.get(key);
+                if (id == null) {
+                    id = dimensionIds.size();
+                    dimensionIds.put(key, id);
+
+                    if (id == counts[d].length) {
+                        counts[d] = Arrays.copyOf(counts[d], id * 2);
+                    }
+                }
+
+                counts[d][id]++;
+            }
+        }
+
+        Map<MetricsDimension, Map<String, Long>> distributions = new EnumMap<>(MetricsDimension.class);
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            long[] dimensionCounts = counts[d];
+
+            Map<String, Long> values = new HashMap<>();
+            ids.get(d).forEach((key, id) -> values.put(key, dimensionCounts[id]));
+
+            distributions.put(DIMENSIONS[d], sort(values, DIMENSIONS[d].getSorter(versionRegistry)));
+        }
+
+        return distributions;
+    }
+
+    @Benchmark
+    public Map<MetricsDimension, Map<String, Long>> preAggregated() {
+        Map<MetricsDimension, Map<String, Long>> counts = new EnumMap<>(MetricsDimension.class);
+        for (MetricsDimension dimension : DIMENSIONS) {
+            counts.put(dimension, new HashMap<>());
+        }
+
+        for (Map<MetricsDimension, Map<String, Long>> hour : hourlyCounts) {
+            counts.forEach((dimension, values) ->
+                    hour.get(dimension).forEach((key, count) -> values.merge(key, count, Long::sum))
+            );
+        }
+
+        Map<MetricsDimension, Map<String, Long>> distributions = new EnumMap<>(MetricsDimension.class);
+        counts.forEach((dimension, values) -> distributions.put(dimension, sort(values, dimension.getSorter(versionRegistry))));
+        return distributions;
+    }
+
+    private static Map<MetricsDimension, Map<String, Long>> count(List<MetricsDTO> metrics) {
+        Map<MetricsDimension, Map<String, Long>> counts = new EnumMap<>(MetricsDimension.class);
+        for (MetricsDimension dimension : DIMENSIONS) {
+            counts.put(dimension, metrics.stream().collect(Collectors.groupingBy(dimension::classify, Collectors.counting())));
+        }
+
+        return counts;
+    }
+
+    private Map<String, Long> sort(Map<String, Long> values, Comparator<Map.Entry<String, Long>> sorter) {
+        return values.entrySet().stream()
+                .sorted(sorter)
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
+                        (a, b) -> a,
+                        LinkedHashMap::new
+                ));
+    }
+}
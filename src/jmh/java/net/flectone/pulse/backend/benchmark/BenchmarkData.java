@@ -0,0 +1,124 @@
+package net.flectone.pulse.backend.benchmark;
+
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import org.springframework.data.util.Pair;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+public class BenchmarkData {
+
+    private static final long SEED = 42;
+
+    private static final String[] CORES = {"Paper", "Purpur", "Spigot", "Folia", "Velocity", "BungeeCord", "Fabric"};
+    private static final String[] SERVER_VERSIONS = {"1.8.8", "1.12.2", "1.16.5", "1.19.4", "1.20.1", "1.20.4", "1.20.6", "1.21", "1.21.1", "1.21.3", "1.21.4"};
+    private static final String[] PROJECT_VERSIONS = {"0.6.0", "0.7.0", "0.8.0", "0.8.1", "0.9.0-SNAPSHOT", "0.9.0", "1.0.0"};
+    private static final String[] LANGUAGES = {"en_us", "ru_ru", "de_de", "uk_ua", "pt_br", "zh_cn"};
+    private static final String[] LOCATIONS = {"US", "RU", "DE", "UA", "BR", "CN", "FR", "PL", "GB", "TR", "KZ", "NL"};
+    private static final String[] JAVA_VERSIONS = {"17.0.2", "17.0.12", "21.0.1", "21.0.5", "22.0.2", "23.0.1"};
+    private static final String[] ARCHITECTURES = {"amd64", "aarch64", "x86"};
+    private static final String[] OS_NAMES = {"Linux", "Windows 10", "Windows 11", "Mac OS X", "FreeBSD"};
+    private static final String[] DATABASES = {"SQLITE", "MYSQL", "POSTGRESQL", "H2"};
+    private static final String[] MODULES = {"chat", "command", "integration", "message", "server", "tab"};
+
+    public static Map<String, Long> distribution(int categories) {
+        Random random = new Random(SEED);
+
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < categories; i++) {
+            distribution.put("1." + (i / 10) + "." + (i % 10), 1L + random.nextInt(5000));
+        }
+
+        return distribution;
+    }
+
+    public static List<MetricsDTO> metrics(int count, int hours) {
+        Random random = new Random(SEED);
+        Instant end = Instant.parse("2025-01-01T00:00:00Z");
+
+        List<Map<String, String>> moduleVariants = new ArrayList<>();
+        for (int mask = 0; mask < 1 << MODULES.length; mask++) {
+            Map<String, String> modules = new HashMap<>();
+            for (int i = 0; i < MODULES.length; i++) {
+                modules.put(MODULES[i], String.valueOf((mask & 1 << i) != 0));
+            }
+
+            moduleVariants.add(modules);
+        }
+
+        List<MetricsDTO> metrics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            metrics.add(new MetricsDTO(
+                    pick(random, CORES),
+                    pick(random, SERVER_VERSIONS),
+                    pick(random, OS_NAMES),
+                    "",
+                    pick(random, ARCHITECTURES),
+                    pick(random, JAVA_VERSIONS),
+                    1 << random.nextInt(6),
+                    (1L + random.nextInt(32)) * 1024 * 1024 * 1024,
+                    pick(random, LOCATIONS),
+                    pick(random, PROJECT_VERSIONS),
+                    pick(random, LANGUAGES),
+                    String.valueOf(random.nextBoolean()),
+                    String.valueOf(random.nextInt(4) == 0),
+                    pick(random, DATABASES),
+                    random.nextInt(200),
+                    moduleVariants.get(random.nextInt(moduleVariants.size())),
+                    end.minusSeconds(random.nextInt(hours * 3600)),
+                    "server-" + random.nextInt(Math.max(1, count / 4))
+            ));
+        }
+
+        return metrics;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static Map<String, Pair<Long, Long>> comparison(int categories) {
+        Random random = new Random(SEED);
+
+        Map<String, Pair<Long, Long>> comparison = new LinkedHashMap<>();
+        for (int i = 0; i < categories; i++) {
+            long servers = 1L + random.nextInt(500);
+            comparison.put("Type " + i, Pair.of(servers * (1 + random.nextInt(40)), servers));
+        }
+
+        return comparison;
+    }
+
+    public static List<Instant> days(int hours) {
+        Instant today = Instant.parse("2025-01-01T00:00:00Z");
+        int days = (hours + 23) / 24;
+
+        List<Instant> dates = new ArrayList<>(days);
+        for (int i = days - 1; i >= 0; i--) {
+            dates.add(today.minus(i, ChronoUnit.DAYS));
+        }
+
+        return dates;
+    }
+
+    public static Map<Instant, Map<Integer, Long>> timeSeries(List<Instant> days, int hours, long base) {
+        Random random = new Random(SEED + base);
+
+        Map<Instant, Map<Integer, Long>> series = new HashMap<>();
+        for (int i = 0; i < hours; i++) {
+            Instant day = days.get(i / 24);
+            double wave = Math.sin(i / 24.0 * Math.PI * 2) * 0.3 + 1;
+            long value = (long) (base * wave) + random.nextInt((int) Math.max(1, base / 10));
+
+            series.computeIfAbsent(day, k -> new HashMap<>()).put(i % 24, value);
+        }
+
+        return series;
+    }
+
+    public static int hoursInLastDay(int hours) {
+        int remainder = hours % 24;
+        return remainder == 0 ? 24 : remainder;
+    }
+}
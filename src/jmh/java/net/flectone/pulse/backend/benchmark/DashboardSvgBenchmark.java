@@ -0,0 +1,75 @@
+package net.flectone.pulse.backend.benchmark;
+
+import net.flectone.pulse.backend.generator.*;
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.util.Pair;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@State(Scope.Benchmark)
+public class DashboardSvgBenchmark {
+
+    private static final int HOURS = 168;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private ExecutorService executor;
+    private List<Instant> days;
+    private Map<Instant, Map<Integer, Long>> players;
+    private Map<Instant, Map<Integer, Long>> servers;
+    private Map<String, Long> distribution;
+    private Map<String, Pair<Long, Long>> comparison;
+    private long totalCount;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(threads);
+        days = BenchmarkData.days(HOURS);
+        players = BenchmarkData.timeSeries(days, HOURS, 20_000);
+        servers = BenchmarkData.timeSeries(days, HOURS, 2_000);
+        distribution = BenchmarkData.distribution(12);
+        comparison = BenchmarkData.comparison(12);
+        totalCount = distribution.values().stream().mapToLong(Long::longValue).max().orElse(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String dashboard() throws Exception {
+        List<DashboardSvg.Section> sections = List.of(
+                new DashboardSvg.Section("Players and servers", new TimeSeriesSvg(players, servers, days, BenchmarkData.hoursInLastDay(HOURS), " players", " servers"), true),
+                new DashboardSvg.Section("Server types", new ComparisonSvg(comparison, "Players", "Servers"), false),
+                new DashboardSvg.Section("Server versions", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("Project versions", new BarDistributionSvg(distribution, "", "-"), false),
+                new DashboardSvg.Section("Project languages", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("Server locations", new CircleDistributionSvg(distribution, "", true), false),
+                new DashboardSvg.Section("Operation systems", new CircleDistributionSvg(distribution, "", true), false),
+                new DashboardSvg.Section("Java versions", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("System architectures", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("Core counts", new BarDistributionSvg(distribution, " cores", ""), false),
+                new DashboardSvg.Section("RAM usage", new BarDistributionSvg(distribution, " GB", ""), false),
+                new DashboardSvg.Section("Online mode", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("Proxy modes", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("Database modes", new BarDistributionSvg(distribution, "", ""), false),
+                new DashboardSvg.Section("Modules status", new StatusItemsSvg(
+                        StatusItemsSvg.DEFAULT_DIMENSIONS,
+                        SvgColorPalette.defaultPalette(),
+                        distribution,
+                        totalCount,
+                        "Enabled",
+                        "Disabled"
+                ), true)
+        );
+
+        return new DashboardSvg(SvgColorPalette.defaultPalette(), sections, executor).generate();
+    }
+}
@@ -0,0 +1,53 @@
+package net.flectone.pulse.backend.benchmark;
+
+import net.flectone.pulse.backend.generator.*;
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.util.Pair;
+
+import java.util.Map;
+
+@State(Scope.Benchmark)
+public class DistributionSvgBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int categories;
+
+    private Map<String, Long> distribution;
+    private Map<String, Pair<Long, Long>> comparison;
+    private long totalCount;
+
+    @Setup
+    public void setup() {
+        distribution = BenchmarkData.distribution(categories);
+        comparison = BenchmarkData.comparison(categories);
+        totalCount = distribution.values().stream().mapToLong(Long::longValue).max().orElse(1);
+    }
+
+    @Benchmark
+    public String barDistribution() throws Exception {
+        return new BarDistributionSvg(distribution, "", "").generate();
+    }
+
+    @Benchmark
+    public String circleDistribution() throws Exception {
+        return new CircleDistributionSvg(distribution, "", true).generate();
+    }
+
+    @Benchmark
+    public String comparison() throws Exception {
+        return new ComparisonSvg(comparison, "Players", "Servers").generate();
+    }
+
+    @Benchmark
+    public String statusItems() throws Exception {
+        return new StatusItemsSvg(
+                StatusItemsSvg.DEFAULT_DIMENSIONS,
+                SvgColorPalette.defaultPalette(),
+                distribution,
+                totalCount,
+                "Enabled",
+                "Disabled"
+        ).generate();
+    }
+}
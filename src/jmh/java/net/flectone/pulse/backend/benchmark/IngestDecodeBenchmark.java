@@ -0,0 +1,73 @@
+package net.flectone.pulse.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestDecodeBenchmark {
+
+    private static final int PAYLOADS = 1024;
+
+    @Param({"json", "json-gzip", "cbor", "cbor-gzip"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private List<byte[]> payloads;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        boolean cbor = format.startsWith("cbor");
+        gzip = format.endsWith("gzip");
+        objectMapper = cbor ? Jackson2ObjectMapperBuilder.cbor().build() : Jackson2ObjectMapperBuilder.json().build();
+
+        payloads = new ArrayList<>(PAYLOADS);
+        long totalBytes = 0;
+        for (MetricsDTO metricsDTO : BenchmarkData.metrics(PAYLOADS, 24)) {
+            byte[] payload = objectMapper.writeValueAsBytes(metricsDTO);
+            if (gzip) {
+                payload = compress(payload);
+            }
+
+            payloads.add(payload);
+            totalBytes += payload.length;
+        }
+
+        System.out.printf("%n%s: %.1f bytes per report%n", format, (double) totalBytes / PAYLOADS);
+    }
+
+    @Benchmark
+    public MetricsDTO decode() throws IOException {
+        byte[] payload = payloads.get(index++ & (PAYLOADS - 1));
+
+        InputStream raw = new ByteArrayInputStream(payload);
+
+        try (InputStream inputStream = gzip ? new GZIPInputStream(raw) : raw) {
+            return objectMapper.readValue(inputStream, MetricsDTO.class);
+        }
+    }
+
+    private byte[] compress(byte[] payload) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(payload);
+        }
+
+        return outputStream.toByteArray();
+    }
+}
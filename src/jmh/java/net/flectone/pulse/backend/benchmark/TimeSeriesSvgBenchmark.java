@@ -0,0 +1,33 @@
+package net.flectone.pulse.backend.benchmark;
+
+import net.flectone.pulse.backend.generator.TimeSeriesSvg;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@State(Scope.Benchmark)
+public class TimeSeriesSvgBenchmark {
+
+    @Param({"168", "2160"})
+    private int hours;
+
+    private List<Instant> days;
+    private Map<Instant, Map<Integer, Long>> players;
+    private Map<Instant, Map<Integer, Long>> servers;
+    private int hoursInLastDay;
+
+    @Setup
+    public void setup() {
+        days = BenchmarkData.days(hours);
+        players = BenchmarkData.timeSeries(days, hours, 20_000);
+        servers = BenchmarkData.timeSeries(days, hours, 2_000);
+        hoursInLastDay = BenchmarkData.hoursInLastDay(hours);
+    }
+
+    @Benchmark
+    public String timeSeries() throws Exception {
+        return new TimeSeriesSvg(players, servers, days, hoursInLastDay, " players", " servers").generate();
+    }
+}
@@ -0,0 +1,60 @@
+package net.flectone.pulse.backend.benchmark;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.util.VersionRegistry;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionSortBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int versions;
+
+    private Map<String, Long> distribution;
+    private VersionRegistry versionRegistry;
+
+    @Setup
+    public void setup() {
+        distribution = BenchmarkData.distribution(versions);
+        versionRegistry = new VersionRegistry(new PulseProperties());
+        distribution.keySet().forEach(versionRegistry::register);
+    }
+
+    @Benchmark
+    public Map<String, Long> reparseOnCompare() {
+        return distribution.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(ComparableVersion::new).reversed()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Benchmark
+    public Map<String, Long> parseOnce() {
+        List<Map.Entry<ComparableVersion, Map.Entry<String, Long>>> parsed = new ArrayList<>(distribution.size());
+        for (Map.Entry<String, Long> entry : distribution.entrySet()) {
+            parsed.add(Map.entry(new ComparableVersion(entry.getKey()), entry));
+        }
+
+        parsed.sort(Map.Entry.<ComparableVersion, Map.Entry<String, Long>>comparingByKey().reversed());
+
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        for (Map.Entry<ComparableVersion, Map.Entry<String, Long>> entry : parsed) {
+            sorted.put(entry.getValue().getKey(), entry.getValue().getValue());
+        }
+
+        return sorted;
+    }
+
+    @Benchmark
+    public Map<String, Long> registryRanks() {
+        return distribution.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(versionRegistry.comparator().reversed()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,54 @@
+package net.flectone.pulse.backend.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class GeoIpStub implements AutoCloseable {
+
+    private static final String[] COUNTRIES = {"US", "RU", "DE", "UA", "BR", "CN", "FR", "PL", "GB", "TR", "KZ", "NL"};
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32);
+
+    public GeoIpStub(Duration latency) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/line/", exchange -> {
+            try {
+                if (!latency.isZero()) {
+                    Thread.sleep(latency.toMillis());
+                }
+
+                String ip = exchange.getRequestURI().getPath().substring("/line/".length());
+                byte[] body = (COUNTRIES[Math.floorMod(ip.hashCode(), COUNTRIES.length)] + "\n").getBytes(StandardCharsets.UTF_8);
+
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/line/<ip>?fields=country";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,124 @@
+package net.flectone.pulse.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.*;
+
+public class LoadGenerator implements AutoCloseable {
+
+    private static final int MAX_PLAYERS = 200;
+
+    private final LoadTestOptions options;
+    private final LoadStats stats;
+    private final URI uri;
+    private final PayloadFactory payloadFactory;
+    private final Semaphore inFlight;
+    private final ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final HttpClient client;
+    private final Random random = new Random(7);
+
+    private volatile boolean running;
+    private int round;
+
+    public LoadGenerator(LoadTestOptions options, String baseUrl, LoadStats stats) {
+        this.options = options;
+        this.stats = stats;
+        this.uri = URI.create(baseUrl + "/api/pulse/metrics");
+        this.payloadFactory = new PayloadFactory(options.instances(), 42);
+        this.inFlight = new Semaphore(options.concurrency());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(options.requestTimeout())
+                .build();
+    }
+
+    public void start() {
+        running = true;
+        scheduler.scheduleAtFixedRate(this::scheduleRound, 0, options.period().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleRound() {
+        long periodMillis = options.period().toMillis();
+        long burstMillis = Math.min(options.burstWindow().toMillis(), periodMillis);
+        long burstInstances = Math.round(options.instances() * options.burstFraction());
+
+        int currentRound = round++;
+        for (int instance = 0; instance < options.instances(); instance++) {
+            long offset = instance < burstInstances
+                    ? nextOffset(0, burstMillis)
+                    : nextOffset(burstMillis, periodMillis);
+
+            int playerCount = random.nextInt(MAX_PLAYERS);
+            boolean gzip = random.nextDouble() < options.gzipRatio();
+            String ip = createIp(currentRound * options.instances() + instance);
+            long scheduledAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offset);
+
+            int finalInstance = instance;
+            scheduler.schedule(() -> send(finalInstance, ip, playerCount, gzip, scheduledAt), offset, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private long nextOffset(long from, long to) {
+        return to > from ? from + random.nextLong(to - from) : from;
+    }
+
+    private void send(int instance, String ip, int playerCount, boolean gzip, long scheduledAt) {
+        if (!running) return;
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        byte[] body = payloadFactory.create(instance, playerCount, gzip);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(options.requestTimeout())
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", ip)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+
+        if (gzip) {
+            builder.header("Content-Encoding", "gzip");
+        }
+
+        stats.recordSent(body.length);
+
+        client.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, throwable) -> {
+            inFlight.release();
+
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+            if (throwable != null) {
+                stats.recordError(throwable, micros);
+            } else {
+                stats.recordResponse(response.statusCode(), micros);
+            }
+        });
+    }
+
+    private String createIp(int id) {
+        return "10." + (id >> 16 & 255) + "." + (id >> 8 & 255) + "." + (id & 255);
+    }
+
+    public void drain() throws InterruptedException {
+        running = false;
+        scheduler.shutdownNow();
+
+        if (inFlight.tryAcquire(options.concurrency(), options.requestTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            inFlight.release(options.concurrency());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+}
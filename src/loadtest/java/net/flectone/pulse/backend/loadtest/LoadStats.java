@@ -0,0 +1,78 @@
+package net.flectone.pulse.backend.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadStats {
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+    private final AtomicReference<LatencyHistogram> intervalLatency = new AtomicReference<>(new LatencyHistogram());
+
+    public void recordSent(int bytes) {
+        sent.increment();
+        sentBytes.add(bytes);
+    }
+
+    public void recordResponse(int status, long micros) {
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+
+        if (status / 100 == 2) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+
+        totalLatency.record(micros);
+        intervalLatency.get().record(micros);
+    }
+
+    public void recordError(Throwable throwable, long micros) {
+        Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+        exceptions.computeIfAbsent(cause.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        failed.increment();
+
+        totalLatency.record(micros);
+        intervalLatency.get().record(micros);
+    }
+
+    public LatencyHistogram swapIntervalLatency() {
+        return intervalLatency.getAndSet(new LatencyHistogram());
+    }
+
+    public LatencyHistogram getTotalLatency() {
+        return totalLatency;
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public Map<Integer, LongAdder> getStatuses() {
+        return statuses;
+    }
+
+    public Map<String, LongAdder> getExceptions() {
+        return exceptions;
+    }
+}
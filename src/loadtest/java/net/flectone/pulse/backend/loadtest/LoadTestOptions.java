@@ -0,0 +1,45 @@
+package net.flectone.pulse.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record LoadTestOptions(String target,
+                              int instances,
+                              Duration duration,
+                              Duration period,
+                              double burstFraction,
+                              Duration burstWindow,
+                              double gzipRatio,
+                              int concurrency,
+                              Duration requestTimeout,
+                              Duration geoLatency,
+                              Duration reportInterval,
+                              Path output) {
+
+    private static final String PREFIX = "loadtest.";
+
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                property("target", ""),
+                Integer.parseInt(property("instances", "2000")),
+                Duration.parse(property("duration", "PT10M")),
+                Duration.parse(property("period", "PT1M")),
+                Double.parseDouble(property("burst-fraction", "0.8")),
+                Duration.parse(property("burst-window", "PT5S")),
+                Double.parseDouble(property("gzip-ratio", "0.7")),
+                Integer.parseInt(property("concurrency", "256")),
+                Duration.parse(property("request-timeout", "PT30S")),
+                Duration.parse(property("geo-latency", "PT0.05S")),
+                Duration.parse(property("report-interval", "PT10S")),
+                Path.of(property("output", "build/loadtest/report.csv"))
+        );
+    }
+
+    public boolean embedded() {
+        return target.isEmpty();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
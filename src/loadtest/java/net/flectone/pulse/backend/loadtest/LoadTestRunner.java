@@ -0,0 +1,68 @@
+package net.flectone.pulse.backend.loadtest;
+
+import net.flectone.pulse.backend.FlectonePulseBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+
+        GeoIpStub geoIpStub = null;
+        ConfigurableApplicationContext context = null;
+
+        try {
+            String baseUrl = options.target();
+
+            if (options.embedded()) {
+                geoIpStub = new GeoIpStub(options.geoLatency());
+                context = startBackend(geoIpStub.getUrl());
+                baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            }
+
+            System.out.printf("Simulating %d instances against %s for %s (period %s, %.0f%% in a %s burst)%n",
+                    options.instances(), baseUrl, options.duration(), options.period(),
+                    options.burstFraction() * 100, options.burstWindow());
+
+            LoadStats stats = new LoadStats();
+            try (LoadGenerator generator = new LoadGenerator(options, baseUrl, stats)) {
+                SoakReporter reporter = new SoakReporter(options, stats);
+
+                try (reporter) {
+                    generator.start();
+                    reporter.start();
+
+                    Thread.sleep(options.duration().toMillis());
+
+                    generator.drain();
+                }
+
+                reporter.printSummary();
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+
+            if (geoIpStub != null) {
+                geoIpStub.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(String geoUrl) {
+        return new SpringApplicationBuilder(FlectonePulseBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:pulse;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--pulse.cache.prewarm-enabled=false",
+                "--pulse.geo.url=" + geoUrl,
+                "--pulse.journal.directory=build/loadtest/journal"
+        );
+    }
+}
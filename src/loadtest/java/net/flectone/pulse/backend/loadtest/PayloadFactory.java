@@ -0,0 +1,91 @@
+package net.flectone.pulse.backend.loadtest;
+
+import com.google.gson.Gson;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+public class PayloadFactory {
+
+    private static final String[] CORES = {"Paper", "Purpur", "Spigot", "Folia", "Velocity", "BungeeCord", "Fabric"};
+    private static final String[] SERVER_VERSIONS = {"1.16.5", "1.19.4", "1.20.1", "1.20.4", "1.20.6", "1.21", "1.21.1", "1.21.3", "1.21.4"};
+    private static final String[] PROJECT_VERSIONS = {"0.7.0", "0.8.0", "0.8.1", "0.9.0", "1.0.0"};
+    private static final String[] LANGUAGES = {"en_us", "ru_ru", "de_de", "uk_ua", "pt_br", "zh_cn"};
+    private static final String[] JAVA_VERSIONS = {"17.0.12", "21.0.1", "21.0.5", "23.0.1"};
+    private static final String[] ARCHITECTURES = {"amd64", "aarch64"};
+    private static final String[] OS_NAMES = {"Linux", "Windows 10", "Windows 11", "Mac OS X"};
+    private static final String[] DATABASES = {"SQLITE", "MYSQL", "POSTGRESQL", "H2"};
+    private static final String[] MODULES = {"chat", "command", "integration", "message", "server", "tab"};
+
+    private final Gson gson = new Gson();
+    private final MetricsDTO[] instances;
+
+    public PayloadFactory(int instances, long seed) {
+        Random random = new Random(seed);
+
+        this.instances = new MetricsDTO[instances];
+        for (int i = 0; i < instances; i++) {
+            Map<String, String> modules = new HashMap<>();
+            for (String module : MODULES) {
+                modules.put(module, String.valueOf(random.nextInt(4) != 0));
+            }
+
+            this.instances[i] = new MetricsDTO(
+                    pick(random, CORES),
+                    pick(random, SERVER_VERSIONS),
+                    pick(random, OS_NAMES),
+                    "6.1",
+                    pick(random, ARCHITECTURES),
+                    pick(random, JAVA_VERSIONS),
+                    1 << random.nextInt(5),
+                    (1L + random.nextInt(32)) * 1024 * 1024 * 1024,
+                    null,
+                    pick(random, PROJECT_VERSIONS),
+                    pick(random, LANGUAGES),
+                    String.valueOf(random.nextBoolean()),
+                    String.valueOf(random.nextInt(4) == 0),
+                    pick(random, DATABASES),
+                    0,
+                    modules,
+                    null,
+                    UUID.nameUUIDFromBytes(("instance-" + i).getBytes(StandardCharsets.UTF_8)).toString()
+            );
+        }
+    }
+
+    public byte[] create(int instance, int playerCount, boolean gzip) {
+        MetricsDTO metricsDTO = instances[instance];
+
+        String json;
+        synchronized (metricsDTO) {
+            metricsDTO.setPlayerCount(playerCount);
+            json = gson.toJson(metricsDTO);
+        }
+
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return gzip ? gzip(body) : body;
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
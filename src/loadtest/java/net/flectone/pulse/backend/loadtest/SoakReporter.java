@@ -0,0 +1,124 @@
+package net.flectone.pulse.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SoakReporter implements AutoCloseable {
+
+    private static final String CSV_HEADER = "elapsed_s,completed,throughput_rps,error_rate,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,heap_used_mb,heap_committed_mb,gc_count,gc_time_ms";
+
+    private final LoadTestOptions options;
+    private final LoadStats stats;
+    private final PrintWriter csv;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final long startedAt = System.nanoTime();
+
+    private boolean closed;
+    private long lastCompleted;
+    private long lastFailed;
+    private long lastGcCount;
+    private long lastGcTime;
+
+    public SoakReporter(LoadTestOptions options, LoadStats stats) throws IOException {
+        this.options = options;
+        this.stats = stats;
+
+        if (options.output().getParent() != null) {
+            Files.createDirectories(options.output().getParent());
+        }
+
+        this.csv = new PrintWriter(Files.newBufferedWriter(options.output()));
+        this.csv.println(CSV_HEADER);
+    }
+
+    public void start() {
+        long interval = options.reportInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::report, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void report() {
+        LatencyHistogram latency = stats.swapIntervalLatency();
+        double seconds = options.reportInterval().toMillis() / 1000.0;
+
+        long completed = stats.getSucceeded() + stats.getFailed();
+        long failed = stats.getFailed();
+        long intervalCompleted = completed - lastCompleted;
+        long intervalFailed = failed - lastFailed;
+        lastCompleted = completed;
+        lastFailed = failed;
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+
+        long intervalGcCount = gcCount - lastGcCount;
+        long intervalGcTime = gcTime - lastGcTime;
+        lastGcCount = gcCount;
+        lastGcTime = gcTime;
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long elapsed = Duration.ofNanos(System.nanoTime() - startedAt).toSeconds();
+        double errorRate = intervalCompleted == 0 ? 0 : (double) intervalFailed / intervalCompleted;
+
+        System.out.printf(Locale.ROOT,
+                "[%5ds] %8.1f req/s  errors %5.2f%%  p50 %7.1fms  p90 %7.1fms  p99 %7.1fms  p99.9 %7.1fms  max %7.1fms  heap %d/%dMB  gc %d (%dms)%n",
+                elapsed, intervalCompleted / seconds, errorRate * 100,
+                millis(latency.percentile(50)), millis(latency.percentile(90)), millis(latency.percentile(99)),
+                millis(latency.percentile(99.9)), millis(latency.getMax()),
+                heap.getUsed() >> 20, heap.getCommitted() >> 20, intervalGcCount, intervalGcTime
+        );
+
+        csv.printf(Locale.ROOT, "%d,%d,%.2f,%.4f,%.2f,%.2f,%.2f,%.2f,%.2f,%d,%d,%d,%d%n",
+                elapsed, intervalCompleted, intervalCompleted / seconds, errorRate,
+                millis(latency.percentile(50)), millis(latency.percentile(90)), millis(latency.percentile(99)),
+                millis(latency.percentile(99.9)), millis(latency.getMax()),
+                heap.getUsed() >> 20, heap.getCommitted() >> 20, intervalGcCount, intervalGcTime
+        );
+        csv.flush();
+    }
+
+    public void printSummary() {
+        LatencyHistogram latency = stats.getTotalLatency();
+        double seconds = Duration.ofNanos(System.nanoTime() - startedAt).toMillis() / 1000.0;
+        long completed = stats.getSucceeded() + stats.getFailed();
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Sent %d requests (%.1f MB) in %.0fs, completed %d (%.1f req/s)%n",
+                stats.getSent(), stats.getSentBytes() / (1024.0 * 1024.0), seconds, completed, completed / seconds);
+        System.out.printf(Locale.ROOT, "Succeeded %d, failed %d (%.2f%%)%n",
+                stats.getSucceeded(), stats.getFailed(), completed == 0 ? 0 : stats.getFailed() * 100.0 / completed);
+        System.out.printf(Locale.ROOT, "Latency p50 %.1fms  p90 %.1fms  p99 %.1fms  p99.9 %.1fms  max %.1fms%n",
+                millis(latency.percentile(50)), millis(latency.percentile(90)), millis(latency.percentile(99)),
+                millis(latency.percentile(99.9)), millis(latency.getMax()));
+
+        stats.getStatuses().forEach((status, count) -> System.out.println("  HTTP " + status + ": " + count.sum()));
+        stats.getExceptions().forEach((exception, count) -> System.out.println("  " + exception + ": " + count.sum()));
+        System.out.println("Interval report written to " + options.output().toAbsolutePath());
+    }
+
+    private double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+
+        closed = true;
+        scheduler.shutdownNow();
+        report();
+        csv.close();
+    }
+}
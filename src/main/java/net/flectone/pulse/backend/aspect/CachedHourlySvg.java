@@ -1,10 +1,18 @@
 package net.flectone.pulse.backend.aspect;
 
+import net.flectone.pulse.backend.model.ChartWindow;
+
 import java.lang.annotation.*;
 
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface CachedHourlySvg {
     String key() default "";
+
+    ChartWindow minWindow() default ChartWindow.HOUR;
+
+    ChartWindow maxWindow() default ChartWindow.DAY;
+
+    boolean versioned() default false;
 }
 
@@ -2,47 +2,322 @@ package net.flectone.pulse.backend.aspect;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.ChartParams;
+import net.flectone.pulse.backend.dto.WindowParams;
+import net.flectone.pulse.backend.service.ClusterCoordinator;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 @Aspect
 @Component
 public class CachedHourlySvgAspect {
 
-    private final Cache<String, Object> cache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .build();
+    private final Cache<String, Object> cache;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> warmingKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> prewarmedBaseKeys = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentMap<Method, Timer> renderTimers = new ConcurrentHashMap<>();
+
+    private final Duration coalesceTimeout;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleMaxAge;
+    private final ClusterCoordinator clusterCoordinator;
+    private final MeterRegistry meterRegistry;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sharedCounter;
+    private final Counter coalescedCounter;
+    private final Counter staleWhileWarmingCounter;
+    private final Counter staleOnTimeoutCounter;
+    private final Counter staleOnErrorCounter;
+
+    public CachedHourlySvgAspect(PulseProperties pulseProperties, ClusterCoordinator clusterCoordinator, MeterRegistry meterRegistry) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(pulseProperties.getCache().getMaxWeight().toBytes())
+                .weigher((String key, Object value) -> weigh(value))
+                .build();
+        this.coalesceTimeout = pulseProperties.getCache().getCoalesceTimeout();
+        this.staleWhileRevalidate = pulseProperties.getHttpCache().getStaleWhileRevalidate();
+        this.staleMaxAge = pulseProperties.getHttpCache().getStaleMaxAge();
+        this.clusterCoordinator = clusterCoordinator;
+        this.meterRegistry = meterRegistry;
+        this.hitCounter = meterRegistry.counter("pulse.svg.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("pulse.svg.cache.requests", "result", "miss");
+        this.sharedCounter = meterRegistry.counter("pulse.svg.cache.requests", "result", "shared");
+        this.coalescedCounter = meterRegistry.counter("pulse.svg.cache.coalesced");
+        this.staleWhileWarmingCounter = meterRegistry.counter("pulse.svg.cache.stale", "reason", "warming");
+        this.staleOnTimeoutCounter = meterRegistry.counter("pulse.svg.cache.stale", "reason", "timeout");
+        this.staleOnErrorCounter = meterRegistry.counter("pulse.svg.cache.stale", "reason", "error");
+
+        meterRegistry.gauge("pulse.svg.cache.size", cache, Cache::size);
+        meterRegistry.gauge("pulse.svg.cache.in-flight", inFlight, ConcurrentMap::size);
+    }
 
     @Around("@annotation(CachedHourlySvg)")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
         Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
-        CachedHourlySvg annotation = method.getAnnotation(CachedHourlySvg.class);
 
-        String hourKey = Instant.now()
-                .truncatedTo(ChronoUnit.HOURS)
-                .toString();
+        String baseKey = getBaseKey(method, joinPoint.getArgs());
+        Instant currentHour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        String key = createKey(baseKey, currentHour);
+        String previousKey = createKey(baseKey, currentHour.minus(1, ChronoUnit.HOURS));
+
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return withCacheHeaders(cached, currentHour);
+        }
+
+        if (warmingKeys.contains(key)) {
+            Object previous = cache.getIfPresent(previousKey);
+            if (previous != null) {
+                staleWhileWarmingCounter.increment();
+                return withStaleHeaders(previous, currentHour.minus(1, ChronoUnit.HOURS));
+            }
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing, previousKey, currentHour);
+        }
+
+        try {
+            Object result = cache.getIfPresent(key);
+            if (result == null) {
+                result = loadShared(baseKey, key);
+            }
+
+            if (result == null) {
+                missCounter.increment();
+
+                long start = System.nanoTime();
+                result = withValidator(joinPoint.proceed());
+                getRenderTimer(method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                if (isCacheable(result)) {
+                    cache.put(key, result);
+                    clusterCoordinator.publish(key, result);
+                }
+            }
+
+            future.complete(result);
+            return withCacheHeaders(result, currentHour);
+        } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+
+            Object previous = cache.getIfPresent(previousKey);
+            if (previous == null) {
+                throw throwable;
+            }
+
+            staleOnErrorCounter.increment();
+            return withStaleHeaders(previous, currentHour.minus(1, ChronoUnit.HOURS));
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public void registerPrewarmed(String baseKey) {
+        prewarmedBaseKeys.add(baseKey);
+    }
+
+    public boolean startWarming(String key) {
+        if (cache.getIfPresent(key) != null || inFlight.putIfAbsent(key, new CompletableFuture<>()) != null) {
+            return false;
+        }
+
+        warmingKeys.add(key);
+        return true;
+    }
+
+    public void finishWarming(String key, Object result) {
+        result = withValidator(result);
+        if (!isCacheable(result)) {
+            result = null;
+        }
+
+        if (result != null) {
+            cache.put(key, result);
+            clusterCoordinator.publish(key, result);
+        }
+
+        warmingKeys.remove(key);
+
+        CompletableFuture<Object> future = inFlight.remove(key);
+        if (future == null) {
+            return;
+        }
+
+        if (result != null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(new IllegalStateException("Prewarm failed for " + key));
+        }
+    }
+
+    private Object loadShared(String baseKey, String key) {
+        Object shared = clusterCoordinator.load(key);
+        if (shared == null && prewarmedBaseKeys.contains(baseKey)) {
+            shared = clusterCoordinator.awaitShared(key);
+        }
+
+        if (shared != null) {
+            shared = withValidator(shared);
+            sharedCounter.increment();
+            cache.put(key, shared);
+        }
+
+        return shared;
+    }
+
+    private Timer getRenderTimer(Method method) {
+        Timer timer = renderTimers.get(method);
+        if (timer != null) {
+            return timer;
+        }
+
+        return renderTimers.computeIfAbsent(method, m -> meterRegistry.timer("pulse.svg.render", "chart", getBaseKey(m)));
+    }
+
+    private Object await(CompletableFuture<Object> future, String previousKey, Instant currentHour) throws Throwable {
+        try {
+            return withCacheHeaders(future.get(coalesceTimeout.toMillis(), TimeUnit.MILLISECONDS), currentHour);
+        } catch (TimeoutException | ExecutionException e) {
+            Object previous = cache.getIfPresent(previousKey);
+            if (previous != null) {
+                (e instanceof TimeoutException ? staleOnTimeoutCounter : staleOnErrorCounter).increment();
+                return withStaleHeaders(previous, currentHour.minus(1, ChronoUnit.HOURS));
+            }
+
+            if (e instanceof ExecutionException executionException) {
+                throw executionException.getCause();
+            }
+
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Chart is still being generated");
+        }
+    }
+
+    private Object withCacheHeaders(Object value, Instant hour) {
+        if (!isCacheable(value)) {
+            return value;
+        }
+
+        ResponseEntity<?> responseEntity = (ResponseEntity<?>) value;
+        Instant nextHour = hour.plus(1, ChronoUnit.HOURS);
+        Duration maxAge = Duration.between(Instant.now(), nextHour);
+
+        return ResponseEntity.status(responseEntity.getStatusCode())
+                .headers(responseEntity.getHeaders())
+                .cacheControl(CacheControl.maxAge(maxAge.isNegative() ? Duration.ZERO : maxAge)
+                        .cachePublic()
+                        .staleWhileRevalidate(staleWhileRevalidate))
+                .headers(headers -> headers.setExpires(nextHour.toEpochMilli()))
+                .lastModified(hour)
+                .body(responseEntity.getBody());
+    }
+
+    private Object withStaleHeaders(Object value, Instant previousHour) {
+        if (!isCacheable(value)) {
+            return value;
+        }
+
+        ResponseEntity<?> responseEntity = (ResponseEntity<?>) value;
+
+        return ResponseEntity.status(responseEntity.getStatusCode())
+                .headers(responseEntity.getHeaders())
+                .cacheControl(CacheControl.maxAge(staleMaxAge).cachePublic())
+                .lastModified(previousHour)
+                .body(responseEntity.getBody());
+    }
+
+    private static Object withValidator(Object value) {
+        if (!isCacheable(value)) {
+            return value;
+        }
+
+        ResponseEntity<?> responseEntity = (ResponseEntity<?>) value;
+        if (responseEntity.getHeaders().getETag() != null || !(responseEntity.getBody() instanceof byte[] body)) {
+            return value;
+        }
+
+        return ResponseEntity.status(responseEntity.getStatusCode())
+                .headers(responseEntity.getHeaders())
+                .eTag(Hashing.farmHashFingerprint64().hashBytes(body).toString())
+                .body(body);
+    }
+
+    private static boolean isCacheable(Object value) {
+        return value instanceof ResponseEntity<?> responseEntity && responseEntity.getStatusCode().is2xxSuccessful();
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof ResponseEntity<?> responseEntity && responseEntity.getBody() instanceof byte[] body) {
+            return body.length;
+        }
+
+        return 1;
+    }
+
+    public static String createKey(String baseKey, Instant hour) {
+        return baseKey + ":" + hour;
+    }
+
+    public static String getBaseKey(Method method) {
+        CachedHourlySvg annotation = method.getAnnotation(CachedHourlySvg.class);
 
-        String baseKey = annotation.key().isEmpty()
+        return annotation == null || annotation.key().isEmpty()
                 ? method.getName()
                 : annotation.key();
+    }
 
-        String key = baseKey + ":" + hourKey;
+    public static String getBaseKey(Method method, Object[] args) {
+        String baseKey = getBaseKey(method);
+        if (args.length == 0) {
+            return baseKey;
+        }
 
-        Object cached = cache.getIfPresent(key);
-        if (cached != null) {
-            return cached;
+        CachedHourlySvg annotation = method.getAnnotation(CachedHourlySvg.class);
+
+        return baseKey + Arrays.stream(args)
+                .map(arg -> annotation == null ? arg : normalize(annotation, arg))
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static Object normalize(CachedHourlySvg annotation, Object arg) {
+        if (arg instanceof ChartParams params) {
+            return params.normalize(annotation.minWindow(), annotation.maxWindow(), annotation.versioned());
         }
 
-        Object result = joinPoint.proceed();
-        cache.put(key, result);
-        return result;
+        if (arg instanceof WindowParams params) {
+            return params.normalize(annotation.minWindow(), annotation.maxWindow());
+        }
+
+        return arg;
     }
 }
-
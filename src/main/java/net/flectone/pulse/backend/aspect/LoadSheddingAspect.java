@@ -0,0 +1,59 @@
+package net.flectone.pulse.backend.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.service.IngestConcurrencyLimiter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoadSheddingAspect {
+
+    private final IngestConcurrencyLimiter ingestConcurrencyLimiter;
+    private final PulseProperties.LoadShedding loadSheddingProperties;
+    private final Counter overloadCounter;
+
+    public LoadSheddingAspect(IngestConcurrencyLimiter ingestConcurrencyLimiter,
+                              PulseProperties pulseProperties,
+                              MeterRegistry meterRegistry) {
+        this.ingestConcurrencyLimiter = ingestConcurrencyLimiter;
+        this.loadSheddingProperties = pulseProperties.getLoadShedding();
+        this.overloadCounter = meterRegistry.counter("pulse.ingest.rejected", "reason", "overload");
+    }
+
+    @Around("@annotation(LoadShed)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!loadSheddingProperties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        if (!ingestConcurrencyLimiter.tryAcquire()) {
+            overloadCounter.increment();
+
+            long retryAfter = loadSheddingProperties.getRetryAfter().toSeconds();
+            retryAfter += ThreadLocalRandom.current().nextLong(retryAfter + 1);
+
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ingestConcurrencyLimiter.release();
+        }
+    }
+}
@@ -1,43 +1,49 @@
 package net.flectone.pulse.backend.aspect;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.SneakyThrows;
+import net.flectone.pulse.backend.service.RateLimitStore;
 import net.flectone.pulse.backend.util.HttpUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.TimeUnit;
-
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class SpamProtectionAspect {
 
-    private final Cache<String, Long> ipCache = CacheBuilder.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .maximumSize(1000)
-            .build();
+    private final HttpUtils httpUtils;
+    private final RateLimitStore rateLimitStore;
+    private final Counter rateLimitedCounter;
 
+    public SpamProtectionAspect(HttpUtils httpUtils, RateLimitStore rateLimitStore, MeterRegistry meterRegistry) {
+        this.httpUtils = httpUtils;
+        this.rateLimitStore = rateLimitStore;
+        this.rateLimitedCounter = meterRegistry.counter("pulse.ingest.rejected", "reason", "rate-limit");
 
-    private final HttpUtils httpUtils;
+        meterRegistry.gauge("pulse.ingest.tracked-ips", rateLimitStore, RateLimitStore::size);
+    }
 
     @SneakyThrows
     @Around("@annotation(SpamProtect)")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
         String ip = httpUtils.getClientIpAddressIfServletRequestExist();
 
-        Long lastRequestTime = ipCache.getIfPresent(ip);
-        if (lastRequestTime != null && System.currentTimeMillis() - lastRequestTime < 3000 * 1000) {
-            return null;
-        }
+        if (!rateLimitStore.tryAcquire(ip)) {
+            rateLimitedCounter.increment();
+
+            long retryAfter = Math.max(1, rateLimitStore.getRetryAfter(ip).toSeconds());
 
-        Object object = joinPoint.proceed();
-        ipCache.put(ip, System.currentTimeMillis());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
 
-        return object;
+        return joinPoint.proceed();
     }
 }
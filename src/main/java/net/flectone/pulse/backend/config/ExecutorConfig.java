@@ -0,0 +1,29 @@
+package net.flectone.pulse.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService dashboardExecutor(PulseProperties pulseProperties) {
+        PulseProperties.Dashboard dashboard = pulseProperties.getDashboard();
+
+        return new ThreadPoolExecutor(
+                dashboard.getThreads(),
+                dashboard.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dashboard.getQueueCapacity()),
+                new CustomizableThreadFactory("dashboard-render-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package net.flectone.pulse.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "pulse")
+public class PulseProperties {
+
+    private final HttpCache httpCache = new HttpCache();
+    private final Cache cache = new Cache();
+    private final Raster raster = new Raster();
+    private final Chart chart = new Chart();
+    private final Dashboard dashboard = new Dashboard();
+    private final Geo geo = new Geo();
+    private final Live live = new Live();
+    private final Registry registry = new Registry();
+    private final Cluster cluster = new Cluster();
+    private final RateLimit rateLimit = new RateLimit();
+    private final LoadShedding loadShedding = new LoadShedding();
+    private final Schedule schedule = new Schedule();
+    private final Journal journal = new Journal();
+
+    @Data
+    public static class HttpCache {
+        private Duration staleWhileRevalidate = Duration.ofMinutes(10);
+        private Duration staleMaxAge = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Cache {
+        private boolean prewarmEnabled = true;
+        private int prewarmParallelism = 2;
+        private Duration coalesceTimeout = Duration.ofSeconds(10);
+        private DataSize maxWeight = DataSize.ofMegabytes(64);
+    }
+
+    @Data
+    public static class Chart {
+        private int maxTimeSeriesPoints = 400;
+        private int svgPrecision = 1;
+        private int topK = 12;
+        private int sketchCapacity = 64;
+        private int versionCapacity = 4096;
+    }
+
+    @Data
+    public static class Dashboard {
+        private int threads = 4;
+        private int queueCapacity = 64;
+    }
+
+    @Data
+    public static class Geo {
+        private String url = "http://ip-api.com/line/<ip>?fields=country";
+    }
+
+    @Data
+    public static class Live {
+        private Duration tick = Duration.ofSeconds(1);
+        private Duration heartbeat = Duration.ofSeconds(15);
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+        private int maxSubscribers = 10000;
+        private int maxCores = 16;
+    }
+
+    @Data
+    public static class Registry {
+        private boolean enabled = true;
+        private boolean serveHourlySnapshot = false;
+        private Duration ttl = Duration.ofMinutes(75);
+        private Duration sweepInterval = Duration.ofMinutes(1);
+        private int initialCapacity = 4096;
+        private String fingerprintSecret = UUID.randomUUID().toString();
+    }
+
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;
+        private String nodeId = UUID.randomUUID().toString();
+        private Duration leaseTtl = Duration.ofSeconds(30);
+        private Duration renewInterval = Duration.ofSeconds(10);
+        private Duration followerWait = Duration.ofSeconds(5);
+        private Duration retention = Duration.ofHours(2);
+        private Duration cleanupInterval = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class RateLimit {
+        private String backend = "memory";
+        private int limit = 1;
+        private Duration window = Duration.ofMinutes(50);
+        private Duration syncInterval = Duration.ofSeconds(5);
+        private int localBudget = 1;
+    }
+
+    @Data
+    public static class LoadShedding {
+        private boolean enabled = true;
+        private int initialLimit = 16;
+        private int minLimit = 2;
+        private int maxLimit = 64;
+        private Duration targetLatency = Duration.ofMillis(500);
+        private double backoffRatio = 0.9;
+        private Duration retryAfter = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Schedule {
+        private Duration period = Duration.ofHours(1);
+        private Duration maxDeferral = Duration.ofMinutes(30);
+        private double loadThreshold = 0.75;
+    }
+
+    @Data
+    public static class Journal {
+        private boolean enabled = true;
+        private String directory = "journal";
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+        private boolean fsync = true;
+        private int bufferCapacity = 10000;
+        private int batchSize = 500;
+        private int maxBatchesPerFlush = 4;
+        private Duration flushInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Raster {
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        private int queueCapacity = 64;
+        private DataSize bufferPoolMaxWeight = DataSize.ofMegabytes(32);
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+}
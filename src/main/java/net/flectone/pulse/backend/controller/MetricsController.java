@@ -1,290 +1,331 @@
 package net.flectone.pulse.backend.controller;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import net.flectone.pulse.backend.aspect.CachedHourlySvg;
+import net.flectone.pulse.backend.aspect.LoadShed;
 import net.flectone.pulse.backend.aspect.SpamProtect;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.ChartParams;
+import net.flectone.pulse.backend.dto.IngestResponse;
 import net.flectone.pulse.backend.dto.MetricsDTO;
 import net.flectone.pulse.backend.generator.*;
-import net.flectone.pulse.backend.service.MetricsService;
+import net.flectone.pulse.backend.jfr.IngestEvent;
+import net.flectone.pulse.backend.model.ChartFormat;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.MetricsDimension;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.TimeSeriesSnapshot;
+import net.flectone.pulse.backend.service.IngestBuffer;
+import net.flectone.pulse.backend.service.LiveCounterService;
+import net.flectone.pulse.backend.service.LiveServerRegistry;
+import net.flectone.pulse.backend.service.RasterRenderService;
+import net.flectone.pulse.backend.service.ReportScheduler;
+import net.flectone.pulse.backend.service.SnapshotService;
 import net.flectone.pulse.backend.util.HttpUtils;
+import net.flectone.pulse.backend.util.VersionRegistry;
 import org.apache.batik.svggen.SVGGraphics2DIOException;
-import org.apache.maven.artifact.versioning.ComparableVersion;
-import org.springframework.data.util.Pair;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/pulse/metrics")
-@RequiredArgsConstructor
 public class MetricsController {
 
-    private final MetricsService metricsService;
+    private final IngestBuffer ingestBuffer;
+    private final SnapshotService snapshotService;
+    private final RasterRenderService rasterRenderService;
     private final HttpUtils httpRequestUtils;
+    private final PulseProperties pulseProperties;
+    private final ExecutorService dashboardExecutor;
+    private final LiveCounterService liveCounterService;
+    private final LiveServerRegistry liveServerRegistry;
+    private final ReportScheduler reportScheduler;
+    private final VersionRegistry versionRegistry;
+    private final Timer ingestTimer;
+
+    public MetricsController(IngestBuffer ingestBuffer,
+                             SnapshotService snapshotService,
+                             RasterRenderService rasterRenderService,
+                             HttpUtils httpRequestUtils,
+                             PulseProperties pulseProperties,
+                             ExecutorService dashboardExecutor,
+                             LiveCounterService liveCounterService,
+                             LiveServerRegistry liveServerRegistry,
+                             ReportScheduler reportScheduler,
+                             VersionRegistry versionRegistry,
+                             MeterRegistry meterRegistry) {
+        this.ingestBuffer = ingestBuffer;
+        this.snapshotService = snapshotService;
+        this.rasterRenderService = rasterRenderService;
+        this.httpRequestUtils = httpRequestUtils;
+        this.pulseProperties = pulseProperties;
+        this.dashboardExecutor = dashboardExecutor;
+        this.liveCounterService = liveCounterService;
+        this.liveServerRegistry = liveServerRegistry;
+        this.reportScheduler = reportScheduler;
+        this.versionRegistry = versionRegistry;
+        this.ingestTimer = meterRegistry.timer("pulse.ingest");
+    }
 
+    @LoadShed
     @SpamProtect
     @PostMapping
-    public ResponseEntity<String> saveMetrics(@RequestBody MetricsDTO metricsDTO) {
+    public ResponseEntity<IngestResponse> saveMetrics(@RequestBody MetricsDTO metricsDTO, HttpServletRequest request) {
+        IngestEvent event = new IngestEvent();
+        event.begin();
+        long start = System.nanoTime();
+
         metricsDTO.setLocation(httpRequestUtils.getClientLocationFromIp());
-        metricsService.saveMetrics(metricsDTO);
+        ingestBuffer.submit(metricsDTO);
+        liveCounterService.record(metricsDTO);
+        MetricsDimension.VERSIONED.forEach(dimension -> versionRegistry.register(dimension.classify(metricsDTO)));
+        Instant now = Instant.now();
+        long fingerprint = metricsDTO.getServerId() == null || metricsDTO.getServerId().isBlank()
+                ? liveServerRegistry.fingerprint(httpRequestUtils.getClientIpAddressIfServletRequestExist(), metricsDTO)
+                : LiveServerRegistry.fingerprint(metricsDTO.getServerId());
+        liveServerRegistry.record(fingerprint, metricsDTO, now);
+
+        ingestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.payloadBytes = request.getContentLengthLong();
+            event.contentType = request.getContentType();
+            event.compressed = "gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"));
+            event.location = metricsDTO.getLocation();
+            event.commit();
+        }
 
-        return ResponseEntity.ok("Saved");
+        return ResponseEntity.ok(new IngestResponse("Saved", reportScheduler.nextReportIn(fingerprint, now)));
     }
 
-    @CachedHourlySvg
-    @GetMapping("/svg")
-    public ResponseEntity<String> getMainSvg() throws SVGGraphics2DIOException {
-        Instant now = Instant.now();
-        Instant currentHour = now.truncatedTo(ChronoUnit.HOURS);
-        int hoursToFetch = 6 * 24 + currentHour.atZone(ZoneOffset.UTC).getHour() + 1;
-
-        List<MetricsDTO> metrics = metricsService.getMetrics(hoursToFetch, ChronoUnit.HOURS);
-
-        Map<Instant, Long> serverCounts = metrics.stream()
-                .collect(Collectors.groupingBy(
-                        m -> m.getCreatedAt().truncatedTo(ChronoUnit.HOURS),
-                        Collectors.counting()
-                ));
-
-        Map<Instant, Long> playerCounts = metrics.stream()
-                .collect(Collectors.groupingBy(
-                        m -> m.getCreatedAt().truncatedTo(ChronoUnit.HOURS),
-                        Collectors.summingLong(MetricsDTO::getPlayerCount)
-                ));
-
-        List<Instant> allHours = new ArrayList<>();
-        for (int i = 0; i < hoursToFetch; i++) {
-            allHours.add(currentHour.minus(hoursToFetch - 1 - i, ChronoUnit.HOURS));
-        }
+    @GetMapping(path = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getLiveCounters() {
+        return liveCounterService.subscribe();
+    }
 
-        Map<Instant, Long> serversByHour = new LinkedHashMap<>();
-        Map<Instant, Long> playersByHour = new LinkedHashMap<>();
-
-        allHours.forEach(hour -> {
-            serversByHour.put(hour, serverCounts.getOrDefault(hour, 0L));
-            playersByHour.put(hour, playerCounts.getOrDefault(hour, 0L));
-        });
-
-        Map<Instant, Map<Integer, Long>> serversDayHour = new TreeMap<>();
-        serversByHour.forEach((hour, count) -> {
-            Instant day = hour.truncatedTo(ChronoUnit.DAYS);
-            int hourOfDay = hour.atZone(ZoneOffset.UTC).getHour();
-            serversDayHour.computeIfAbsent(day, k -> new HashMap<>())
-                    .put(hourOfDay, count);
-        });
-
-        Map<Instant, Map<Integer, Long>> playersDayHour = new TreeMap<>();
-        playersByHour.forEach((hour, count) -> {
-            Instant day = hour.truncatedTo(ChronoUnit.DAYS);
-            int hourOfDay = hour.atZone(ZoneOffset.UTC).getHour();
-            playersDayHour.computeIfAbsent(day, k -> new HashMap<>())
-                    .put(hourOfDay, count);
-        });
-
-        return svgResponse(new TimeSeriesSvg(
-                playersDayHour,
-                serversDayHour,
-                new ArrayList<>(serversDayHour.keySet()),
-                currentHour.atZone(ZoneOffset.UTC).getHour(),
-                " players",
-                " servers"
-        ));
+    @CachedHourlySvg(minWindow = ChartWindow.DAY, maxWindow = ChartWindow.MONTH)
+    @GetMapping("/svg")
+    public ResponseEntity<byte[]> getMainSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createMainChart(params));
     }
 
-    @CachedHourlySvg
+    @CachedHourlySvg(versioned = true)
     @GetMapping("/svg/server-versions")
-    public ResponseEntity<String> getVersionsDistributionSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getServerVersion,
-                Map.Entry.comparingByKey(Comparator.comparing(ComparableVersion::new).reversed())
-        );
-
-        return svgResponse(new BarDistributionSvg(data, ""));
+    public ResponseEntity<byte[]> getVersionsDistributionSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.SERVER_VERSION, "", ""));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/ram-usage")
-    public ResponseEntity<String> getRamUsageSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                m -> String.valueOf((int) Math.ceil(m.getTotalRAM() / (1024.0 * 1024.0 * 1024.0))),
-                Comparator.<Map.Entry<String, Long>>comparingInt(e -> Integer.parseInt(e.getKey())).reversed()
-        );
-
-        return svgResponse(new BarDistributionSvg(data, " GB"));
+    public ResponseEntity<byte[]> getRamUsageSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.RAM, " GB", ""));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/modules-status")
-    public ResponseEntity<String> getModulesStatusSvg() throws SVGGraphics2DIOException {
-        List<MetricsDTO> metricsDTOS = metricsService.getMetrics(1, ChronoUnit.HOURS);
-
-        Map<String, Long> modulesStats = metricsDTOS.stream()
-                .flatMap(m -> m.getModules().entrySet().stream())
-                .collect(Collectors.groupingBy(
-                        Map.Entry::getKey,
-                        Collectors.summingLong(e -> "true".equals(e.getValue()) ? 1 : 0)
-                ));
-
-        long total = metricsDTOS.size();
-        return svgResponse(new StatusItemsSvg(modulesStats, total, "Enabled", "Disabled"));
+    public ResponseEntity<byte[]> getModulesStatusSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createModulesChart(params, getSnapshot(params)));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/server-types")
-    public ResponseEntity<String> getServerTypesSvg() throws SVGGraphics2DIOException {
-        List<MetricsDTO> metrics = metricsService.getMetrics(1, ChronoUnit.HOURS);
-
-        Map<String, Pair<Long, Long>> data = metrics.stream()
-                .collect(Collectors.groupingBy(
-                        MetricsDTO::getServerCore,
-                        Collectors.teeing(
-                                Collectors.counting(),
-                                Collectors.summingLong(MetricsDTO::getPlayerCount),
-                                (servers, players) -> Pair.of(players, servers)
-                        )
-                ));
-
-        return svgResponse(new ComparisonSvg(data, "Players", "Servers"));
+    public ResponseEntity<byte[]> getServerTypesSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createServerTypesChart(params, getSnapshot(params)));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/online-mode")
-    public ResponseEntity<String> getOnlineModeSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getOnlineMode,
-                Map.Entry.<String, Long>comparingByValue().reversed()
-        );
-
-        return svgResponse(new BarDistributionSvg(data, ""));
+    public ResponseEntity<byte[]> getOnlineModeSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.ONLINE_MODE, "", ""));
     }
 
-
-    @CachedHourlySvg
+    @CachedHourlySvg(versioned = true)
     @GetMapping("/svg/project-versions")
-    public ResponseEntity<String> getPluginVersionsSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getProjectVersion,
-                Map.Entry.comparingByKey(Comparator.comparing(ComparableVersion::new).reversed())
-        );
-
-        return svgResponse(new BarDistributionSvg(data, "", "-"));
+    public ResponseEntity<byte[]> getPluginVersionsSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.PROJECT_VERSION, "", "-"));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/project-languages")
-    public ResponseEntity<String> getPluginLanguagesSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getProjectLanguage,
-                Map.Entry.<String, Long>comparingByValue().reversed()
-        );
-
-        return svgResponse(new BarDistributionSvg(data, ""));
+    public ResponseEntity<byte[]> getPluginLanguagesSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.PROJECT_LANGUAGE, "", ""));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/proxy-modes")
-    public ResponseEntity<String> getProxyModesSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getProxyMode,
-                Map.Entry.<String, Long>comparingByValue().reversed()
-        );
-
-        return svgResponse(new BarDistributionSvg(data, ""));
+    public ResponseEntity<byte[]> getProxyModesSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.PROXY_MODE, "", ""));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/database-modes")
-    public ResponseEntity<String> getDatabaseModesSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getDatabaseMode,
-                Map.Entry.<String, Long>comparingByValue().reversed()
-        );
-
-        return svgResponse(new BarDistributionSvg(data, ""));
+    public ResponseEntity<byte[]> getDatabaseModesSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.DATABASE_MODE, "", ""));
     }
 
     @CachedHourlySvg
     @GetMapping("/svg/server-locations")
-    public ResponseEntity<String> getServerLocationsSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getLocation,
-                Map.Entry.<String, Long>comparingByValue().reversed()
-        );
+    public ResponseEntity<byte[]> getServerLocationsSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createCircleChart(params, getSnapshot(params), MetricsDimension.LOCATION));
+    }
 
-        return svgResponse(new CircleDistributionSvg(data, "", true));
+    @CachedHourlySvg(versioned = true)
+    @GetMapping("/svg/java-versions")
+    public ResponseEntity<byte[]> getJavaVersionsSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.JAVA_VERSION, "", ""));
     }
 
     @CachedHourlySvg
-    @GetMapping("/svg/java-versions")
-    public ResponseEntity<String> getJavaVersionsSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getJavaVersion,
-                Map.Entry.comparingByKey(Comparator.comparing(ComparableVersion::new).reversed())
-        );
+    @GetMapping("/svg/core-counts")
+    public ResponseEntity<byte[]> getCoreCountsSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.CPU_CORES, " cores", ""));
+    }
 
-        return svgResponse(new BarDistributionSvg(data, ""));
+    @CachedHourlySvg
+    @GetMapping("/svg/system-archs")
+    public ResponseEntity<byte[]> getSystemArchsSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createBarChart(params, getSnapshot(params), MetricsDimension.OS_ARCHITECTURE, "", ""));
     }
 
     @CachedHourlySvg
-    @GetMapping("/svg/core-counts")
-    public ResponseEntity<String> getCoreCountsSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                metricsDTO -> String.valueOf(metricsDTO.getCpuCores()),
-                Comparator.<Map.Entry<String, Long>>comparingInt(e -> Integer.parseInt(e.getKey())).reversed()
+    @GetMapping("/svg/operation-systems")
+    public ResponseEntity<byte[]> getOperationSystemsSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        return chartResponse(params, createCircleChart(params, getSnapshot(params), MetricsDimension.OS_NAME));
+    }
+
+    @CachedHourlySvg(maxWindow = ChartWindow.MONTH, versioned = true)
+    @GetMapping("/svg/dashboard")
+    public ResponseEntity<byte[]> getDashboardSvg(@ModelAttribute ChartParams params) throws SVGGraphics2DIOException {
+        MetricsSnapshot snapshot = getSnapshot(params);
+
+        List<DashboardSvg.Section> sections = List.of(
+                new DashboardSvg.Section("Players and servers", createMainChart(params), true),
+                new DashboardSvg.Section("Server types", createServerTypesChart(params, snapshot), false),
+                new DashboardSvg.Section("Server versions", createBarChart(params, snapshot, MetricsDimension.SERVER_VERSION, "", ""), false),
+                new DashboardSvg.Section("Project versions", createBarChart(params, snapshot, MetricsDimension.PROJECT_VERSION, "", "-"), false),
+                new DashboardSvg.Section("Project languages", createBarChart(params, snapshot, MetricsDimension.PROJECT_LANGUAGE, "", ""), false),
+                new DashboardSvg.Section("Server locations", createCircleChart(params, snapshot, MetricsDimension.LOCATION), false),
+                new DashboardSvg.Section("Operation systems", createCircleChart(params, snapshot, MetricsDimension.OS_NAME), false),
+                new DashboardSvg.Section("Java versions", createBarChart(params, snapshot, MetricsDimension.JAVA_VERSION, "", ""), false),
+                new DashboardSvg.Section("System architectures", createBarChart(params, snapshot, MetricsDimension.OS_ARCHITECTURE, "", ""), false),
+                new DashboardSvg.Section("Core counts", createBarChart(params, snapshot, MetricsDimension.CPU_CORES, " cores", ""), false),
+                new DashboardSvg.Section("RAM usage", createBarChart(params, snapshot, MetricsDimension.RAM, " GB", ""), false),
+                new DashboardSvg.Section("Online mode", createBarChart(params, snapshot, MetricsDimension.ONLINE_MODE, "", ""), false),
+                new DashboardSvg.Section("Proxy modes", createBarChart(params, snapshot, MetricsDimension.PROXY_MODE, "", ""), false),
+                new DashboardSvg.Section("Database modes", createBarChart(params, snapshot, MetricsDimension.DATABASE_MODE, "", ""), false),
+                new DashboardSvg.Section("Modules status", createModulesChart(params, snapshot), true)
         );
 
-        return svgResponse(new BarDistributionSvg(data, " cores"));
+        try {
+            return chartResponse(params, new DashboardSvg(params.toPalette(), sections, dashboardExecutor));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many dashboard renders in progress");
+        }
     }
 
-    @CachedHourlySvg
-    @GetMapping("/svg/system-archs")
-    public ResponseEntity<String> getSystemArchsSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getOsArchitecture,
-                Map.Entry.<String, Long>comparingByValue().reversed()
+    private MetricsSnapshot getSnapshot(ChartParams params) {
+        return snapshotService.getSnapshot(params.toWindow(ChartWindow.HOUR, ChartWindow.HOUR, ChartWindow.DAY));
+    }
+
+    private SvgGenerator createMainChart(ChartParams params) {
+        ChartWindow window = params.toWindow(ChartWindow.WEEK, ChartWindow.DAY, ChartWindow.MONTH);
+        TimeSeriesSnapshot timeSeries = snapshotService.getTimeSeries(window);
+
+        return new TimeSeriesSvg(
+                params.toDimensions(SvgGenerator.DEFAULT_DIMENSIONS),
+                params.toPalette(),
+                timeSeries.playersByDayHour(),
+                timeSeries.serversByDayHour(),
+                timeSeries.days(),
+                timeSeries.hoursInLastDay(),
+                " players",
+                " servers",
+                pulseProperties.getChart().getMaxTimeSeriesPoints()
         );
+    }
 
-        return svgResponse(new BarDistributionSvg(data, ""));
+    private SvgGenerator createModulesChart(ChartParams params, MetricsSnapshot snapshot) {
+        return new StatusItemsSvg(
+                params.toDimensions(StatusItemsSvg.DEFAULT_DIMENSIONS),
+                params.toPalette(),
+                snapshot.modules(),
+                snapshot.total(),
+                "Enabled",
+                "Disabled"
+        );
     }
 
-    @CachedHourlySvg
-    @GetMapping("/svg/operation-systems")
-    public ResponseEntity<String> getOperationSystemsSvg() throws SVGGraphics2DIOException {
-        Map<String, Long> data = getGroupedAndSortedData(
-                MetricsDTO::getOsName,
-                Map.Entry.<String, Long>comparingByValue().reversed()
+    private SvgGenerator createServerTypesChart(ChartParams params, MetricsSnapshot snapshot) {
+        return new ComparisonSvg(
+                params.toDimensions(SvgGenerator.DEFAULT_DIMENSIONS),
+                params.toPalette(),
+                snapshot.serverTypes(),
+                "Players",
+                "Servers"
         );
+    }
 
-        return svgResponse(new CircleDistributionSvg(data, "", true));
+    private SvgGenerator createBarChart(ChartParams params,
+                                        MetricsSnapshot snapshot,
+                                        MetricsDimension dimension,
+                                        String valueLabel,
+                                        String splitBy) {
+        Map<String, Long> distribution = snapshot.getDistribution(dimension);
+        if (params.isVersionGrouped() && MetricsDimension.VERSIONED.contains(dimension)) {
+            if (params.within() != null && !versionRegistry.containsGroup(params.within())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown version group " + params.within());
+            }
+
+            distribution = versionRegistry.rollup(distribution, params.toVersionLevel(), params.within());
+        }
+
+        distribution = MetricsSnapshot.fold(distribution, pulseProperties.getChart().getTopK());
+
+        return new BarDistributionSvg(
+                params.toDimensions(SvgGenerator.DEFAULT_DIMENSIONS),
+                params.toPalette(),
+                distribution,
+                valueLabel,
+                splitBy
+        );
     }
 
-    private <T> Map<String, Long> getGroupedAndSortedData(Function<MetricsDTO, T> classifier,
-                                                          Comparator<Map.Entry<String, Long>> sorter) {
-        return metricsService.getMetrics(1, ChronoUnit.HOURS).stream()
-                .collect(Collectors.groupingBy(
-                        m -> String.valueOf(classifier.apply(m)),
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
-                .sorted(sorter)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (a, b) -> a,
-                        LinkedHashMap::new
-                ));
+    private SvgGenerator createCircleChart(ChartParams params, MetricsSnapshot snapshot, MetricsDimension dimension) {
+        return new CircleDistributionSvg(
+                params.toDimensions(SvgGenerator.DEFAULT_DIMENSIONS),
+                params.toPalette(),
+                snapshot.getDistribution(dimension),
+                "",
+                "",
+                true
+        );
     }
 
-    private ResponseEntity<String> svgResponse(SvgGenerator generator) throws SVGGraphics2DIOException {
+    private ResponseEntity<byte[]> chartResponse(ChartParams params, SvgGenerator generator) throws SVGGraphics2DIOException {
+        ChartFormat format = params.toFormat();
+        generator.setPrecision(pulseProperties.getChart().getSvgPrecision());
+
+        byte[] body = format == ChartFormat.PNG
+                ? rasterRenderService.render(generator)
+                : generator.generate().getBytes(StandardCharsets.UTF_8);
+
         return ResponseEntity.ok()
-                .contentType(MediaType.valueOf("image/svg+xml"))
-                .body(generator.generate());
+                .contentType(format.getMediaType())
+                .body(body);
     }
-}
\ No newline at end of file
+}
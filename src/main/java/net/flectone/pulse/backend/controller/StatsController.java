@@ -0,0 +1,208 @@
+package net.flectone.pulse.backend.controller;
+
+import com.google.gson.Gson;
+import lombok.RequiredArgsConstructor;
+import net.flectone.pulse.backend.aspect.CachedHourlySvg;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.StatsDTO;
+import net.flectone.pulse.backend.dto.TimeSeriesStatsDTO;
+import net.flectone.pulse.backend.dto.WindowParams;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.MetricsDimension;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.TimeSeriesSnapshot;
+import net.flectone.pulse.backend.service.SnapshotService;
+import org.springframework.data.util.Pair;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/pulse/metrics/json")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final SnapshotService snapshotService;
+    private final PulseProperties pulseProperties;
+    private final Gson gson;
+
+    @CachedHourlySvg(key = "json-main", minWindow = ChartWindow.DAY, maxWindow = ChartWindow.MONTH)
+    @GetMapping
+    public ResponseEntity<byte[]> getMainStats(@ModelAttribute WindowParams params) {
+        ChartWindow window = params.toWindow(ChartWindow.WEEK, ChartWindow.DAY, ChartWindow.MONTH);
+        TimeSeriesSnapshot timeSeries = snapshotService.getTimeSeries(window);
+
+        int hours = 0;
+        for (Instant day : timeSeries.days()) {
+            hours += timeSeries.serversByDayHour().getOrDefault(day, Map.of()).size();
+        }
+
+        long[] players = new long[hours];
+        long[] servers = new long[hours];
+
+        int index = 0;
+        for (Instant day : timeSeries.days()) {
+            Map<Integer, Long> dayPlayers = timeSeries.playersByDayHour().getOrDefault(day, Map.of());
+            Map<Integer, Long> dayServers = timeSeries.serversByDayHour().getOrDefault(day, Map.of());
+
+            for (int hour = 0; hour < 24; hour++) {
+                if (!dayServers.containsKey(hour)) continue;
+
+                players[index] = dayPlayers.getOrDefault(hour, 0L);
+                servers[index] = dayServers.get(hour);
+                index++;
+            }
+        }
+
+        Instant start = timeSeries.hour().minus(Math.max(0, hours - 1), ChronoUnit.HOURS);
+
+        return jsonResponse(new TimeSeriesStatsDTO(
+                window.getValue(),
+                timeSeries.hour().toString(),
+                start.toString(),
+                ChronoUnit.HOURS.getDuration().toSeconds(),
+                players,
+                servers
+        ));
+    }
+
+    @CachedHourlySvg(key = "json-server-versions")
+    @GetMapping("/server-versions")
+    public ResponseEntity<byte[]> getServerVersionsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.SERVER_VERSION);
+    }
+
+    @CachedHourlySvg(key = "json-ram-usage")
+    @GetMapping("/ram-usage")
+    public ResponseEntity<byte[]> getRamUsageStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.RAM);
+    }
+
+    @CachedHourlySvg(key = "json-modules-status")
+    @GetMapping("/modules-status")
+    public ResponseEntity<byte[]> getModulesStatusStats(@ModelAttribute WindowParams params) {
+        MetricsSnapshot snapshot = getSnapshot(params);
+
+        List<Object[]> values = new ArrayList<>();
+        snapshot.modules().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> values.add(new Object[]{e.getKey(), e.getValue()}));
+
+        return statsResponse(snapshot, values);
+    }
+
+    @CachedHourlySvg(key = "json-server-types")
+    @GetMapping("/server-types")
+    public ResponseEntity<byte[]> getServerTypesStats(@ModelAttribute WindowParams params) {
+        MetricsSnapshot snapshot = getSnapshot(params);
+
+        List<Object[]> values = new ArrayList<>();
+        snapshot.serverTypes().entrySet().stream()
+                .sorted((e1, e2) -> Long.compare(
+                        e2.getValue().getFirst() + e2.getValue().getSecond(),
+                        e1.getValue().getFirst() + e1.getValue().getSecond()))
+                .forEach(e -> {
+                    Pair<Long, Long> value = e.getValue();
+                    values.add(new Object[]{e.getKey(), value.getFirst(), value.getSecond()});
+                });
+
+        return statsResponse(snapshot, values);
+    }
+
+    @CachedHourlySvg(key = "json-online-mode")
+    @GetMapping("/online-mode")
+    public ResponseEntity<byte[]> getOnlineModeStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.ONLINE_MODE);
+    }
+
+    @CachedHourlySvg(key = "json-project-versions")
+    @GetMapping("/project-versions")
+    public ResponseEntity<byte[]> getProjectVersionsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.PROJECT_VERSION);
+    }
+
+    @CachedHourlySvg(key = "json-project-languages")
+    @GetMapping("/project-languages")
+    public ResponseEntity<byte[]> getProjectLanguagesStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.PROJECT_LANGUAGE);
+    }
+
+    @CachedHourlySvg(key = "json-proxy-modes")
+    @GetMapping("/proxy-modes")
+    public ResponseEntity<byte[]> getProxyModesStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.PROXY_MODE);
+    }
+
+    @CachedHourlySvg(key = "json-database-modes")
+    @GetMapping("/database-modes")
+    public ResponseEntity<byte[]> getDatabaseModesStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.DATABASE_MODE);
+    }
+
+    @CachedHourlySvg(key = "json-server-locations")
+    @GetMapping("/server-locations")
+    public ResponseEntity<byte[]> getServerLocationsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.LOCATION);
+    }
+
+    @CachedHourlySvg(key = "json-java-versions")
+    @GetMapping("/java-versions")
+    public ResponseEntity<byte[]> getJavaVersionsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.JAVA_VERSION);
+    }
+
+    @CachedHourlySvg(key = "json-core-counts")
+    @GetMapping("/core-counts")
+    public ResponseEntity<byte[]> getCoreCountsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.CPU_CORES);
+    }
+
+    @CachedHourlySvg(key = "json-system-archs")
+    @GetMapping("/system-archs")
+    public ResponseEntity<byte[]> getSystemArchsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.OS_ARCHITECTURE);
+    }
+
+    @CachedHourlySvg(key = "json-operation-systems")
+    @GetMapping("/operation-systems")
+    public ResponseEntity<byte[]> getOperationSystemsStats(@ModelAttribute WindowParams params) {
+        return distributionResponse(getSnapshot(params), MetricsDimension.OS_NAME);
+    }
+
+    private MetricsSnapshot getSnapshot(WindowParams params) {
+        return snapshotService.getSnapshot(params.toWindow(ChartWindow.HOUR, ChartWindow.HOUR, ChartWindow.DAY));
+    }
+
+    private ResponseEntity<byte[]> distributionResponse(MetricsSnapshot snapshot, MetricsDimension dimension) {
+        List<Object[]> values = new ArrayList<>();
+        snapshot.getDistribution(dimension, pulseProperties.getChart().getTopK()).forEach((key, value) -> values.add(new Object[]{key, value}));
+
+        return statsResponse(snapshot, values);
+    }
+
+    private ResponseEntity<byte[]> statsResponse(MetricsSnapshot snapshot, List<Object[]> values) {
+        return jsonResponse(new StatsDTO(
+                snapshot.window().getValue(),
+                snapshot.hour().toString(),
+                snapshot.total(),
+                snapshot.unit().getValue(),
+                values
+        ));
+    }
+
+    private ResponseEntity<byte[]> jsonResponse(Object body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gson.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package net.flectone.pulse.backend.dto;
+
+import net.flectone.pulse.backend.model.ChartFormat;
+import net.flectone.pulse.backend.model.ChartTheme;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import net.flectone.pulse.backend.model.SvgDimensions;
+import net.flectone.pulse.backend.model.VersionLevel;
+
+import java.util.regex.Pattern;
+
+public record ChartParams(Integer width, Integer height, String theme, String window, String format, String group, String within) {
+
+    public static final ChartParams DEFAULT = new ChartParams(null, null, null, null, null, null, null);
+
+    private static final int MIN_SIZE = 200;
+    private static final int MAX_SIZE = 2400;
+    private static final int SIZE_STEP = 50;
+    private static final Pattern VERSION_GROUP = Pattern.compile("\\d{1,5}(\\.\\d{1,5})?");
+
+    public ChartParams {
+        width = normalizeSize(width);
+        height = normalizeSize(height);
+
+        ChartTheme chartTheme = ChartTheme.fromValue(theme);
+        theme = chartTheme == null ? null : chartTheme.getValue();
+
+        ChartWindow chartWindow = ChartWindow.fromValue(window);
+        window = chartWindow == null ? null : chartWindow.getValue();
+
+        ChartFormat chartFormat = ChartFormat.fromValue(format);
+        format = chartFormat == null || chartFormat == ChartFormat.SVG ? null : chartFormat.getValue();
+
+        VersionLevel versionLevel = VersionLevel.fromValue(group);
+        group = versionLevel == null ? null : versionLevel.getValue();
+        within = normalizeVersionGroup(within);
+    }
+
+    public SvgDimensions toDimensions(SvgDimensions defaultDimensions) {
+        if (width == null && height == null) {
+            return defaultDimensions;
+        }
+
+        return SvgDimensions.withScaledMargin(
+                width == null ? defaultDimensions.width() : width,
+                height == null ? defaultDimensions.height() : height
+        );
+    }
+
+    public SvgColorPalette toPalette() {
+        ChartTheme chartTheme = ChartTheme.fromValue(theme);
+        return chartTheme == null ? SvgColorPalette.defaultPalette() : chartTheme.getPalette();
+    }
+
+    public ChartWindow toWindow(ChartWindow defaultWindow, ChartWindow min, ChartWindow max) {
+        ChartWindow chartWindow = ChartWindow.fromValue(window);
+        return chartWindow == null ? defaultWindow : chartWindow.clamp(min, max);
+    }
+
+    public ChartFormat toFormat() {
+        ChartFormat chartFormat = ChartFormat.fromValue(format);
+        return chartFormat == null ? ChartFormat.SVG : chartFormat;
+    }
+
+    public VersionLevel toVersionLevel() {
+        VersionLevel versionLevel = VersionLevel.fromValue(group);
+        return versionLevel == null ? VersionLevel.PATCH : versionLevel;
+    }
+
+    public ChartParams normalize(ChartWindow min, ChartWindow max, boolean versioned) {
+        ChartWindow chartWindow = ChartWindow.fromValue(window);
+
+        return new ChartParams(
+                width,
+                height,
+                theme,
+                chartWindow == null ? null : chartWindow.clamp(min, max).getValue(),
+                format,
+                versioned ? group : null,
+                versioned ? within : null
+        );
+    }
+
+    public boolean isVersionGrouped() {
+        return group != null || within != null;
+    }
+
+    private static String normalizeVersionGroup(String group) {
+        if (group == null || !VERSION_GROUP.matcher(group).matches()) return null;
+
+        int separator = group.indexOf('.');
+        if (separator < 0) {
+            return String.valueOf(Integer.parseInt(group));
+        }
+
+        return Integer.parseInt(group, 0, separator, 10) + "." + Integer.parseInt(group, separator + 1, group.length(), 10);
+    }
+
+    private static Integer normalizeSize(Integer size) {
+        if (size == null) return null;
+
+        int clamped = Math.max(MIN_SIZE, Math.min(MAX_SIZE, size));
+        return Math.round((float) clamped / SIZE_STEP) * SIZE_STEP;
+    }
+}
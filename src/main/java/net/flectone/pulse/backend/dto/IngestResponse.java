@@ -0,0 +1,4 @@
+package net.flectone.pulse.backend.dto;
+
+public record IngestResponse(String status, long nextReportIn) {
+}
@@ -29,5 +29,6 @@ public class MetricsDTO {
     private int playerCount;
     private Map<String, String> modules;
     private Instant createdAt;
+    private String serverId;
 
 }
\ No newline at end of file
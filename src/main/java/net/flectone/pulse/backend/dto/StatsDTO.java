@@ -0,0 +1,6 @@
+package net.flectone.pulse.backend.dto;
+
+import java.util.List;
+
+public record StatsDTO(String window, String hour, long total, String unit, List<Object[]> values) {
+}
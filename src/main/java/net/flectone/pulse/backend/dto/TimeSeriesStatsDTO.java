@@ -0,0 +1,4 @@
+package net.flectone.pulse.backend.dto;
+
+public record TimeSeriesStatsDTO(String window, String hour, String start, long stepSeconds, long[] players, long[] servers) {
+}
@@ -0,0 +1,23 @@
+package net.flectone.pulse.backend.dto;
+
+import net.flectone.pulse.backend.model.ChartWindow;
+
+public record WindowParams(String window) {
+
+    public static final WindowParams DEFAULT = new WindowParams(null);
+
+    public WindowParams {
+        ChartWindow chartWindow = ChartWindow.fromValue(window);
+        window = chartWindow == null ? null : chartWindow.getValue();
+    }
+
+    public WindowParams normalize(ChartWindow min, ChartWindow max) {
+        ChartWindow chartWindow = ChartWindow.fromValue(window);
+        return chartWindow == null ? this : new WindowParams(chartWindow.clamp(min, max).getValue());
+    }
+
+    public ChartWindow toWindow(ChartWindow defaultWindow, ChartWindow min, ChartWindow max) {
+        ChartWindow chartWindow = ChartWindow.fromValue(window);
+        return chartWindow == null ? defaultWindow : chartWindow.clamp(min, max);
+    }
+}
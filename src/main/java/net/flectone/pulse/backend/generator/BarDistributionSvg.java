@@ -1,5 +1,8 @@
 package net.flectone.pulse.backend.generator;
 
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import net.flectone.pulse.backend.model.SvgDimensions;
+
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.util.Map;
@@ -17,14 +20,24 @@ public class BarDistributionSvg extends SvgGenerator {
     private final String valueLabel;
     private final String splitBy;
 
-    public BarDistributionSvg(Map<String, Long> distribution,
+    public BarDistributionSvg(SvgDimensions dimensions,
+                              SvgColorPalette colors,
+                              Map<String, Long> distribution,
                               String valueLabel,
                               String splitBy) {
+        super(dimensions, colors);
+
         this.distribution = distribution;
         this.valueLabel = valueLabel;
         this.splitBy = splitBy;
     }
 
+    public BarDistributionSvg(Map<String, Long> distribution,
+                              String valueLabel,
+                              String splitBy) {
+        this(DEFAULT_DIMENSIONS, SvgColorPalette.defaultPalette(), distribution, valueLabel, splitBy);
+    }
+
     public BarDistributionSvg(Map<String, Long> distribution,
                               String valueLabel) {
         this(distribution, valueLabel, "");
@@ -66,40 +79,40 @@ public class BarDistributionSvg extends SvgGenerator {
     }
 
     private void drawSingleBar(int x, int barWidth, int height, String ram, long count, Color color) {
-        svg.setPaint(color);
-        svg.fill(new RoundRectangle2D.Double(
+        graphics.setPaint(color);
+        graphics.fill(new RoundRectangle2D.Double(
                 x, getBarYPosition(height),
                 barWidth, height,
                 CORNER_RADIUS, CORNER_RADIUS
         ));
 
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 15));
-        svg.setPaint(colors.text());
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        graphics.setPaint(colors.text());
         String valueText = String.valueOf(count);
-        svg.drawString(valueText,
-                x + barWidth/2 - svg.getFontMetrics().stringWidth(valueText)/2,
+        graphics.drawString(valueText,
+                x + barWidth/2 - graphics.getFontMetrics().stringWidth(valueText)/2,
                 getBarYPosition(height) - 5);
 
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 12));
         String label = ram + valueLabel;
         int baseY = dimensions.height() - dimensions.margin() - 15;
 
         if (splitBy.isEmpty()) {
-            svg.drawString(label,
-                    x + barWidth/2 - svg.getFontMetrics().stringWidth(label)/2,
+            graphics.drawString(label,
+                    x + barWidth/2 - graphics.getFontMetrics().stringWidth(label)/2,
                     baseY);
         } else {
             String[] parts = label.split(splitBy, 2);
             String firstLine = parts[0];
             String secondLine = parts.length > 1 ? parts[1] : "";
 
-            svg.drawString(firstLine,
-                    x + barWidth/2 - svg.getFontMetrics().stringWidth(firstLine)/2,
+            graphics.drawString(firstLine,
+                    x + barWidth/2 - graphics.getFontMetrics().stringWidth(firstLine)/2,
                     baseY);
 
             if (!secondLine.isEmpty()) {
-                svg.drawString(secondLine,
-                        x + barWidth/2 - svg.getFontMetrics().stringWidth(secondLine)/2,
+                graphics.drawString(secondLine,
+                        x + barWidth/2 - graphics.getFontMetrics().stringWidth(secondLine)/2,
                         baseY + 15);
             }
         }
@@ -1,5 +1,8 @@
 package net.flectone.pulse.backend.generator;
 
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import net.flectone.pulse.backend.model.SvgDimensions;
+
 import java.awt.*;
 import java.util.*;
 import java.util.List;
@@ -10,6 +13,7 @@ public class CircleDistributionSvg extends SvgGenerator {
     private static final int CIRCLE_PADDING = 20;
     private static final double COLOR_STEP = 0.8;
     private static final int MAX_PLACEMENT_ATTEMPTS = 100;
+    private static final int FALLBACK_ATTEMPTS = 50;
     private static final int BASE_MIN_RADIUS = 60;
     private static final int BASE_MAX_RADIUS = 100;
     private static final int MIN_CIRCLES_FOR_SCALING = 5;
@@ -52,7 +56,10 @@ public class CircleDistributionSvg extends SvgGenerator {
         }
     }
 
-    public CircleDistributionSvg(Map<String, Long> data, String labelSuffix, String valueSuffix, boolean showPercentage) {
+    public CircleDistributionSvg(SvgDimensions dimensions, SvgColorPalette colors,
+                                 Map<String, Long> data, String labelSuffix, String valueSuffix, boolean showPercentage) {
+        super(dimensions, colors);
+
         this.labelSuffix = labelSuffix;
         this.valueSuffix = valueSuffix;
         this.showPercentage = showPercentage;
@@ -76,10 +83,15 @@ public class CircleDistributionSvg extends SvgGenerator {
             ));
         }
 
-        circles.sort(Comparator.comparingLong((DataCircle c) -> c.value).reversed());
+        circles.sort(Comparator.comparingLong((DataCircle c) -> c.value).reversed()
+                .thenComparing(c -> c.label));
         arrangeCircles();
     }
 
+    public CircleDistributionSvg(Map<String, Long> data, String labelSuffix, String valueSuffix, boolean showPercentage) {
+        this(DEFAULT_DIMENSIONS, SvgColorPalette.defaultPalette(), data, labelSuffix, valueSuffix, showPercentage);
+    }
+
     public CircleDistributionSvg(Map<String, Long> data) {
         this(data, "", "", false);
     }
@@ -109,25 +121,43 @@ public class CircleDistributionSvg extends SvgGenerator {
         int centerX = dimensions.width()/2;
         int centerY = dimensions.height()/2;
 
-        circles.get(0).position = new Point(centerX, centerY);
+        int maxRadius = circles.stream().mapToInt(c -> c.radius).max().orElse(0);
+        SpatialGrid grid = new SpatialGrid(dimensions.width(), dimensions.height(), 2 * maxRadius + CIRCLE_PADDING, maxRadius);
+        Random random = new Random(calculateSeed());
+
+        DataCircle first = circles.get(0);
+        first.position = new Point(centerX, centerY);
+        grid.add(first);
 
         double angle = 0;
-        double radius = circles.get(0).radius + CIRCLE_PADDING;
+        double radius = first.radius + CIRCLE_PADDING;
 
         for (int i = 1; i < circles.size(); i++) {
             DataCircle circle = circles.get(i);
-            Point position = findSuitablePosition(i, centerX, centerY, angle, radius);
+            Point position = findSuitablePosition(grid, circle, centerX, centerY, angle, radius);
 
             if (position != null) {
                 circle.position = position;
             } else {
-                circle.position = findFallbackPosition(i, centerX, centerY);
+                circle.position = findFallbackPosition(grid, circle, centerX, centerY, random);
             }
+
+            grid.add(circle);
         }
     }
 
-    private Point findSuitablePosition(int index, int centerX, int centerY, double angle, double radius) {
-        DataCircle current = circles.get(index);
+    private long calculateSeed() {
+        long seed = 1125899906842597L;
+
+        for (DataCircle circle : circles) {
+            seed = 31 * seed + circle.label.hashCode();
+            seed = 31 * seed + Long.hashCode(circle.value);
+        }
+
+        return seed;
+    }
+
+    private Point findSuitablePosition(SpatialGrid grid, DataCircle current, int centerX, int centerY, double angle, double radius) {
         double angleStep = Math.PI/6;
         double radiusStep = 1.2;
 
@@ -135,7 +165,7 @@ public class CircleDistributionSvg extends SvgGenerator {
             int x = centerX + (int)(radius * Math.cos(angle));
             int y = centerY + (int)(radius * Math.sin(angle));
 
-            if (!hasOverlaps(index, x, y, current.radius) && isWithinBounds(x, y, current.radius)) {
+            if (isWithinBounds(x, y, current.radius) && !grid.hasOverlaps(x, y, current.radius)) {
                 return new Point(x, y);
             }
 
@@ -146,55 +176,107 @@ public class CircleDistributionSvg extends SvgGenerator {
         return null;
     }
 
-    private boolean hasOverlaps(int index, int x, int y, int radius) {
-        return circles.stream()
-                .limit(index)
-                .anyMatch(other -> {
-                    double distance = Math.hypot(x - other.position.x, y - other.position.y);
-                    return distance < radius + other.radius + CIRCLE_PADDING;
-                });
-    }
-
     private boolean isWithinBounds(int x, int y, int radius) {
         return x - radius >= 0 && x + radius <= dimensions.width() &&
                 y - radius >= 0 && y + radius <= dimensions.height();
     }
 
-    private Point findFallbackPosition(int index, int centerX, int centerY) {
-        DataCircle current = circles.get(index);
+    private Point findFallbackPosition(SpatialGrid grid, DataCircle current, int centerX, int centerY, Random random) {
         Point bestPosition = new Point(centerX, centerY);
         double bestScore = Double.MAX_VALUE;
 
-        for (int i = 0; i < 50; i++) {
-            int x = CIRCLE_PADDING + (int)(Math.random() * (dimensions.width() - 2*CIRCLE_PADDING));
-            int y = CIRCLE_PADDING + (int)(Math.random() * (dimensions.height() - 2*CIRCLE_PADDING));
+        for (int i = 0; i < FALLBACK_ATTEMPTS; i++) {
+            int x = CIRCLE_PADDING + random.nextInt(Math.max(1, dimensions.width() - 2*CIRCLE_PADDING));
+            int y = CIRCLE_PADDING + random.nextInt(Math.max(1, dimensions.height() - 2*CIRCLE_PADDING));
 
-            double score = calculatePositionScore(index, x, y, current.radius);
+            double score = grid.overlapScore(x, y, current.radius);
+            if (!isWithinBounds(x, y, current.radius)) {
+                score += 1000;
+            }
 
             if (score < bestScore) {
                 bestScore = score;
                 bestPosition = new Point(x, y);
+
+                if (score == 0) break;
             }
         }
 
         return bestPosition;
     }
 
-    private double calculatePositionScore(int index, int x, int y, int radius) {
-        double score = circles.stream()
-                .limit(index)
-                .mapToDouble(other -> {
-                    double distance = Math.hypot(x - other.position.x, y - other.position.y);
-                    double minDistance = radius + other.radius + CIRCLE_PADDING;
-                    return Math.max(0, minDistance - distance);
-                })
-                .sum();
-
-        if (!isWithinBounds(x, y, radius)) {
-            score += 1000;
+    private static class SpatialGrid {
+        private final int cellSize;
+        private final int columns;
+        private final int rows;
+        private final int maxRadius;
+        private final List<List<DataCircle>> cells;
+
+        SpatialGrid(int width, int height, int cellSize, int maxRadius) {
+            this.cellSize = Math.max(1, cellSize);
+            this.columns = width / this.cellSize + 1;
+            this.rows = height / this.cellSize + 1;
+            this.maxRadius = maxRadius;
+            this.cells = new ArrayList<>(columns * rows);
+
+            for (int i = 0; i < columns * rows; i++) {
+                cells.add(new ArrayList<>(2));
+            }
+        }
+
+        void add(DataCircle circle) {
+            cells.get(row(circle.position.y) * columns + column(circle.position.x)).add(circle);
+        }
+
+        boolean hasOverlaps(int x, int y, int radius) {
+            int reach = radius + maxRadius + CIRCLE_PADDING;
+
+            for (int row = row(y - reach); row <= row(y + reach); row++) {
+                for (int column = column(x - reach); column <= column(x + reach); column++) {
+                    for (DataCircle other : cells.get(row * columns + column)) {
+                        long dx = x - other.position.x;
+                        long dy = y - other.position.y;
+                        long minDistance = radius + other.radius + CIRCLE_PADDING;
+
+                        if (dx * dx + dy * dy < minDistance * minDistance) {
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            return false;
         }
 
-        return score;
+        double overlapScore(int x, int y, int radius) {
+            int reach = radius + maxRadius + CIRCLE_PADDING;
+            double score = 0;
+
+            for (int row = row(y - reach); row <= row(y + reach); row++) {
+                for (int column = column(x - reach); column <= column(x + reach); column++) {
+                    for (DataCircle other : cells.get(row * columns + column)) {
+                        long dx = x - other.position.x;
+                        long dy = y - other.position.y;
+                        long minDistance = radius + other.radius + CIRCLE_PADDING;
+                        long squaredDistance = dx * dx + dy * dy;
+
+                        if (squaredDistance < minDistance * minDistance) {
+                            score += minDistance - Math.sqrt(squaredDistance);
+                        }
+                    }
+                }
+            }
+
+            return score;
+        }
+
+        private int column(int x) {
+            return Math.max(0, Math.min(columns - 1, Math.floorDiv(x, cellSize)));
+        }
+
+        private int row(int y) {
+            return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize)));
+        }
     }
 
     @Override
@@ -213,17 +295,17 @@ public class CircleDistributionSvg extends SvgGenerator {
                 DataCircle.brightenColor(circle.fillColor, 30)
         );
 
-        svg.setPaint(gradient);
-        svg.fillOval(
+        graphics.setPaint(gradient);
+        graphics.fillOval(
                 circle.position.x - circle.radius,
                 circle.position.y - circle.radius,
                 circle.radius*2,
                 circle.radius*2
         );
 
-        svg.setPaint(circle.borderColor);
-        svg.setStroke(new BasicStroke(STROKE_WIDTH));
-        svg.drawOval(
+        graphics.setPaint(circle.borderColor);
+        graphics.setStroke(new BasicStroke(STROKE_WIDTH));
+        graphics.drawOval(
                 circle.position.x - circle.radius,
                 circle.position.y - circle.radius,
                 circle.radius*2,
@@ -298,13 +380,13 @@ public class CircleDistributionSvg extends SvgGenerator {
     }
 
     private void drawTextWithShadow(String text, int x, int y, int fontSize) {
-        svg.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
-        int textWidth = svg.getFontMetrics().stringWidth(text);
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, fontSize));
+        int textWidth = graphics.getFontMetrics().stringWidth(text);
 
-        svg.setPaint(new Color(0, 0, 0, 120));
-        svg.drawString(text, x - textWidth/2 + 1, y + 1);
+        graphics.setPaint(new Color(0, 0, 0, 120));
+        graphics.drawString(text, x - textWidth/2 + 1, y + 1);
 
-        svg.setPaint(Color.WHITE);
-        svg.drawString(text, x - textWidth/2, y);
+        graphics.setPaint(Color.WHITE);
+        graphics.drawString(text, x - textWidth/2, y);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package net.flectone.pulse.backend.generator;
 
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import net.flectone.pulse.backend.model.SvgDimensions;
 import org.springframework.data.util.Pair;
 
 import java.awt.*;
@@ -22,7 +24,10 @@ public class ComparisonSvg extends SvgGenerator {
     private final String secondDataLabel;
     private double scaleFactor = 1.0;
 
-    public ComparisonSvg(Map<String, Pair<Long, Long>> data, String firstDataLabel, String secondDataLabel) {
+    public ComparisonSvg(SvgDimensions dimensions, SvgColorPalette colors,
+                         Map<String, Pair<Long, Long>> data, String firstDataLabel, String secondDataLabel) {
+        super(dimensions, colors);
+
         this.data = data.entrySet().stream()
                 .sorted((e1, e2) -> Long.compare(
                         e2.getValue().getFirst() + e2.getValue().getSecond(),
@@ -36,6 +41,10 @@ public class ComparisonSvg extends SvgGenerator {
         this.secondDataLabel = secondDataLabel;
     }
 
+    public ComparisonSvg(Map<String, Pair<Long, Long>> data, String firstDataLabel, String secondDataLabel) {
+        this(DEFAULT_DIMENSIONS, SvgColorPalette.defaultPalette(), data, firstDataLabel, secondDataLabel);
+    }
+
     @Override
     protected void generateSvgContent() {
         long maxPlayers = data.values().stream()
@@ -53,7 +62,7 @@ public class ComparisonSvg extends SvgGenerator {
             scaleFactor = (double) availableWidth / requiredWidth;
         }
 
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 15));
 
         int chartWidth = (int)(calculateChartWidth() * scaleFactor);
         int startX = (dimensions.width() - chartWidth) / 2;
@@ -91,17 +100,17 @@ public class ComparisonSvg extends SvgGenerator {
     private void drawBar(int x, int height, long value, Color color, int width) {
         int y = dimensions.margin() + dimensions.graphHeight() - height;
 
-        svg.setPaint(color);
-        svg.fillRoundRect(x, y, width, height, ARC_RADIUS, ARC_RADIUS);
+        graphics.setPaint(color);
+        graphics.fillRoundRect(x, y, width, height, ARC_RADIUS, ARC_RADIUS);
 
-        svg.setPaint(color.darker());
-        svg.setStroke(new BasicStroke(1f));
-        svg.drawRoundRect(x, y, width, height, ARC_RADIUS, ARC_RADIUS);
+        graphics.setPaint(color.darker());
+        graphics.setStroke(new BasicStroke(1f));
+        graphics.drawRoundRect(x, y, width, height, ARC_RADIUS, ARC_RADIUS);
 
-        svg.setPaint(color.darker());
-        svg.drawString(
+        graphics.setPaint(color.darker());
+        graphics.drawString(
                 String.valueOf(value),
-                x + width/2 - svg.getFontMetrics().stringWidth(String.valueOf(value))/2,
+                x + width/2 - graphics.getFontMetrics().stringWidth(String.valueOf(value))/2,
                 y - 5
         );
     }
@@ -112,10 +121,10 @@ public class ComparisonSvg extends SvgGenerator {
 
     private void drawLabel(String text, int x) {
         String label = text.length() > 12 ? text.substring(0, 9) + "..." : text;
-        int textWidth = svg.getFontMetrics().stringWidth(label);
+        int textWidth = graphics.getFontMetrics().stringWidth(label);
 
-        svg.setPaint(colors.text());
-        svg.drawString(label, x - textWidth/2, dimensions.height() - dimensions.margin() + 20);
+        graphics.setPaint(colors.text());
+        graphics.drawString(label, x - textWidth/2, dimensions.height() - dimensions.margin() + 20);
     }
 
     private void drawLegend() {
@@ -127,10 +136,10 @@ public class ComparisonSvg extends SvgGenerator {
     }
 
     private void drawLegendItem(int x, int y, Color color, String text) {
-        svg.setPaint(color);
-        svg.fillRect(x, y, LEGEND_SIZE, LEGEND_SIZE);
+        graphics.setPaint(color);
+        graphics.fillRect(x, y, LEGEND_SIZE, LEGEND_SIZE);
 
-        svg.setPaint(colors.text());
-        svg.drawString(text, x + LEGEND_SIZE + 5, y + LEGEND_SIZE - 3);
+        graphics.setPaint(colors.text());
+        graphics.drawString(text, x + LEGEND_SIZE + 5, y + LEGEND_SIZE - 3);
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package net.flectone.pulse.backend.generator;
+
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import net.flectone.pulse.backend.model.SvgDimensions;
+import org.apache.batik.svggen.SVGGraphics2D;
+import org.apache.batik.svggen.SVGGraphics2DIOException;
+import org.w3c.dom.Element;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class DashboardSvg extends SvgGenerator {
+
+    private static final int WIDTH = 1200;
+    private static final int GAP = 20;
+    private static final int TITLE_HEIGHT = 36;
+
+    private final List<Placement> placements;
+    private final Executor executor;
+
+    private boolean nestedSections;
+
+    public record Section(String title, SvgGenerator generator, boolean fullWidth) {}
+
+    private record Placement(Section section, int x, int y, int width, int height) {}
+
+    private record Layout(List<Placement> placements, int height) {}
+
+    public DashboardSvg(SvgColorPalette colors, List<Section> sections, Executor executor) {
+        this(colors, layout(sections), executor);
+    }
+
+    private DashboardSvg(SvgColorPalette colors, Layout layout, Executor executor) {
+        super(new SvgDimensions(WIDTH, layout.height(), GAP), colors);
+
+        this.placements = layout.placements();
+        this.executor = executor;
+    }
+
+    private static Layout layout(List<Section> sections) {
+        List<Placement> placements = new ArrayList<>();
+
+        int fullWidth = WIDTH - 2 * GAP;
+        int halfWidth = (WIDTH - 3 * GAP) / 2;
+
+        int y = GAP;
+        int column = 0;
+        int rowHeight = 0;
+
+        for (Section section : sections) {
+            if (section.fullWidth() && column > 0) {
+                y += rowHeight + GAP;
+                column = 0;
+                rowHeight = 0;
+            }
+
+            SvgDimensions sectionDimensions = section.generator().getDimensions();
+            int width = section.fullWidth() ? fullWidth : halfWidth;
+            int height = TITLE_HEIGHT + width * sectionDimensions.height() / sectionDimensions.width();
+            int x = GAP + column * (halfWidth + GAP);
+
+            placements.add(new Placement(section, x, y, width, height));
+            rowHeight = Math.max(rowHeight, height);
+
+            if (section.fullWidth() || ++column == 2) {
+                y += rowHeight + GAP;
+                column = 0;
+                rowHeight = 0;
+            }
+        }
+
+        return new Layout(placements, y + rowHeight + (column > 0 ? GAP : 0));
+    }
+
+    @Override
+    protected void generateSvgContent() {
+        placements.forEach(this::drawTitle);
+
+        if (nestedSections) {
+            return;
+        }
+
+        for (Placement placement : placements) {
+            SvgDimensions sectionDimensions = placement.section().generator().getDimensions();
+            Graphics2D sectionGraphics = (Graphics2D) graphics.create();
+
+            try {
+                sectionGraphics.translate(placement.x(), placement.y() + TITLE_HEIGHT);
+                sectionGraphics.scale((double) placement.width() / sectionDimensions.width(), (double) placement.width() / sectionDimensions.width());
+                placement.section().generator().render(sectionGraphics);
+            } finally {
+                sectionGraphics.dispose();
+            }
+        }
+    }
+
+    @Override
+    protected String generateDocument() throws SVGGraphics2DIOException {
+        List<CompletableFuture<Element>> sectionRoots = new ArrayList<>();
+        for (int i = 0; i < placements.size(); i++) {
+            SvgGenerator generator = placements.get(i).section().generator();
+            String idPrefix = "s" + i + "-";
+
+            sectionRoots.add(CompletableFuture.supplyAsync(() -> generator.generateRoot(idPrefix), executor));
+        }
+
+        SVGGraphics2D svg = createSvgGraphics("");
+
+        nestedSections = true;
+        try {
+            render(svg);
+        } finally {
+            nestedSections = false;
+        }
+
+        Element root = svg.getRoot();
+
+        for (int i = 0; i < placements.size(); i++) {
+            Placement placement = placements.get(i);
+            SvgDimensions sectionDimensions = placement.section().generator().getDimensions();
+
+            Element section = (Element) root.getOwnerDocument().importNode(sectionRoots.get(i).join(), true);
+            section.setAttribute("x", String.valueOf(placement.x()));
+            section.setAttribute("y", String.valueOf(placement.y() + TITLE_HEIGHT));
+            section.setAttribute("width", String.valueOf(placement.width()));
+            section.setAttribute("height", String.valueOf(placement.height() - TITLE_HEIGHT));
+            section.setAttribute("viewBox", "0 0 " + sectionDimensions.width() + " " + sectionDimensions.height());
+
+            root.appendChild(section);
+        }
+
+        return stream(svg, root);
+    }
+
+    private void drawTitle(Placement placement) {
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        graphics.setPaint(colors.text());
+        graphics.drawString(placement.section().title(), placement.x(), placement.y() + TITLE_HEIGHT - 12);
+    }
+}
@@ -10,6 +10,8 @@ import java.util.List;
 
 public class StatusItemsSvg extends SvgGenerator {
 
+    public static final SvgDimensions DEFAULT_DIMENSIONS = new SvgDimensions(2400, 1500, 80);
+
     private final Map<String, Long> itemsStats;
     private final long totalCount;
     private final String enabledLabel;
@@ -19,8 +21,9 @@ public class StatusItemsSvg extends SvgGenerator {
     private static final int ITEM_WIDTH = 220;
     private static final int ITEM_HEIGHT = 60;
 
-    public StatusItemsSvg(Map<String, Long> itemsStats, long totalCount, String enabledLabel, String disabledLabel) {
-        super(new SvgDimensions(2400, 1500, 80), SvgColorPalette.defaultPalette());
+    public StatusItemsSvg(SvgDimensions dimensions, SvgColorPalette colors,
+                          Map<String, Long> itemsStats, long totalCount, String enabledLabel, String disabledLabel) {
+        super(dimensions, colors);
 
         this.itemsStats = itemsStats;
         this.totalCount = totalCount;
@@ -28,12 +31,16 @@ public class StatusItemsSvg extends SvgGenerator {
         this.disabledLabel = disabledLabel;
     }
 
+    public StatusItemsSvg(Map<String, Long> itemsStats, long totalCount, String enabledLabel, String disabledLabel) {
+        this(DEFAULT_DIMENSIONS, SvgColorPalette.defaultPalette(), itemsStats, totalCount, enabledLabel, disabledLabel);
+    }
+
     @Override
     protected void generateSvgContent() {
         Color enabledColor = colors.enabled();
         Color disabledColor = colors.disabled();
 
-        svg.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        graphics.setFont(new Font("Segoe UI", Font.PLAIN, 12));
 
         List<String> itemList = new ArrayList<>(itemsStats.keySet());
         Collections.sort(itemList);
@@ -61,22 +68,22 @@ public class StatusItemsSvg extends SvgGenerator {
     }
 
     private void drawItemBackground(int x, int y, Color bgColor) {
-        svg.setPaint(new Color(bgColor.getRed(), bgColor.getGreen(), bgColor.getBlue(), 30));
-        svg.fill(new RoundRectangle2D.Double(
+        graphics.setPaint(new Color(bgColor.getRed(), bgColor.getGreen(), bgColor.getBlue(), 30));
+        graphics.fill(new RoundRectangle2D.Double(
                 x, y, ITEM_WIDTH, ITEM_HEIGHT, CORNER_RADIUS, CORNER_RADIUS
         ));
 
-        svg.setPaint(bgColor);
-        svg.setStroke(new BasicStroke(1.5f));
-        svg.draw(new RoundRectangle2D.Double(
+        graphics.setPaint(bgColor);
+        graphics.setStroke(new BasicStroke(1.5f));
+        graphics.draw(new RoundRectangle2D.Double(
                 x, y, ITEM_WIDTH, ITEM_HEIGHT, CORNER_RADIUS, CORNER_RADIUS
         ));
     }
 
     private void drawItemCircle(int x, int y, Color bgColor) {
         int circleSize = 20;
-        svg.setPaint(bgColor);
-        svg.fillOval(
+        graphics.setPaint(bgColor);
+        graphics.fillOval(
                 x + 15,
                 y + ITEM_HEIGHT/2 - circleSize/2,
                 circleSize,
@@ -85,9 +92,9 @@ public class StatusItemsSvg extends SvgGenerator {
     }
 
     private void drawItemText(int x, int y, String item, long enabledCount, double ratio) {
-        svg.setPaint(colors.text());
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        svg.drawString(
+        graphics.setPaint(colors.text());
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        graphics.drawString(
                 item.toUpperCase(),
                 x + 45,
                 y + 25
@@ -95,8 +102,8 @@ public class StatusItemsSvg extends SvgGenerator {
 
         String status = String.format("%d/%d (%.0f%%)",
                 enabledCount, totalCount, ratio * 100);
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 15));
-        svg.drawString(
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        graphics.drawString(
                 status,
                 x + 45,
                 y + 40
@@ -116,14 +123,14 @@ public class StatusItemsSvg extends SvgGenerator {
 
         int dotSize = 14;
 
-        svg.setPaint(enabledColor);
-        svg.fillOval(legendX, legendY - dotSize/2, dotSize, dotSize);
-        svg.setPaint(colors.text());
-        svg.drawString(enabledLabel, legendX + dotSize + 10, legendY + 5);
+        graphics.setPaint(enabledColor);
+        graphics.fillOval(legendX, legendY - dotSize/2, dotSize, dotSize);
+        graphics.setPaint(colors.text());
+        graphics.drawString(enabledLabel, legendX + dotSize + 10, legendY + 5);
 
-        svg.setPaint(disabledColor);
-        svg.fillOval(legendX + 120, legendY - dotSize/2, dotSize, dotSize);
-        svg.setPaint(colors.text());
-        svg.drawString(disabledLabel, legendX + 120 + dotSize + 10, legendY + 5);
+        graphics.setPaint(disabledColor);
+        graphics.fillOval(legendX + 120, legendY - dotSize/2, dotSize, dotSize);
+        graphics.setPaint(colors.text());
+        graphics.drawString(disabledLabel, legendX + 120 + dotSize + 10, legendY + 5);
     }
 }
\ No newline at end of file
@@ -1,43 +1,143 @@
 package net.flectone.pulse.backend.generator;
 
+import lombok.Getter;
+import lombok.Setter;
+import net.flectone.pulse.backend.jfr.SvgGenerateEvent;
 import net.flectone.pulse.backend.model.SvgColorPalette;
 import net.flectone.pulse.backend.model.SvgDimensions;
+import net.flectone.pulse.backend.util.SvgOptimizer;
 import net.flectone.pulse.backend.util.SvgUtils;
+import org.apache.batik.svggen.SVGGeneratorContext;
 import org.apache.batik.svggen.SVGGraphics2D;
 import org.apache.batik.svggen.SVGGraphics2DIOException;
+import org.apache.batik.svggen.SVGIDGenerator;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
 
 import java.awt.*;
 import java.io.StringWriter;
+import java.util.concurrent.CancellationException;
 
 public abstract class SvgGenerator {
 
-    protected final SVGGraphics2D svg;
-    protected final Document doc;
+    public static final SvgDimensions DEFAULT_DIMENSIONS = new SvgDimensions(1200, 600, 80);
+    public static final int DEFAULT_PRECISION = 1;
+
+    @Getter
     protected final SvgDimensions dimensions;
     protected final SvgColorPalette colors;
 
+    @Setter
+    protected int precision = DEFAULT_PRECISION;
+
+    protected Graphics2D graphics;
+
     public SvgGenerator(SvgDimensions dimensions, SvgColorPalette colors) {
         this.dimensions = dimensions;
         this.colors = colors;
-        this.doc = SvgUtils.createSvgDocument(dimensions.width(), dimensions.height());
-        this.svg = new SVGGraphics2D(doc);
-
-        svg.setSVGCanvasSize(new Dimension(dimensions.width(), dimensions.height()));
-        svg.setFont(new Font("Segoe UI", Font.PLAIN, 12));
     }
 
     public SvgGenerator() {
-        this(new SvgDimensions(1200, 600, 80), SvgColorPalette.defaultPalette());
+        this(DEFAULT_DIMENSIONS, SvgColorPalette.defaultPalette());
     }
 
     protected abstract void generateSvgContent();
 
     public String generate() throws SVGGraphics2DIOException {
-        generateSvgContent();
+        SvgGenerateEvent event = new SvgGenerateEvent();
+        event.begin();
+
+        String result = generateDocument();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.generator = getClass().getSimpleName();
+            event.width = dimensions.width();
+            event.height = dimensions.height();
+            event.outputBytes = result.length();
+            event.commit();
+        }
+
+        return result;
+    }
+
+    protected String generateDocument() throws SVGGraphics2DIOException {
+        SVGGraphics2D svg = createSvgGraphics("");
+        render(svg);
+
+        return stream(svg, svg.getRoot());
+    }
+
+    public Element generateRoot(String idPrefix) {
+        SVGGraphics2D svg = createSvgGraphics(idPrefix);
+        render(svg);
+
+        Element root = svg.getRoot();
+        if (!idPrefix.isEmpty()) {
+            NodeList elements = root.getElementsByTagName("*");
+            for (int i = 0; i < elements.getLength(); i++) {
+                Element element = (Element) elements.item(i);
+                String id = element.getAttribute("id");
+                if (!id.isEmpty() && !id.startsWith(idPrefix)) {
+                    element.setAttribute("id", idPrefix + id);
+                }
+            }
+        }
+
+        return root;
+    }
+
+    public void render(Graphics2D graphics) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Render was cancelled");
+        }
+
+        this.graphics = graphics;
+        graphics.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+
+        try {
+            generateSvgContent();
+        } finally {
+            this.graphics = null;
+        }
+    }
+
+    protected SVGGraphics2D createSvgGraphics(String idPrefix) {
+        Document doc = SvgUtils.createSvgDocument(dimensions.width(), dimensions.height());
+
+        SVGGeneratorContext context = SVGGeneratorContext.createDefault(doc);
+        if (!idPrefix.isEmpty()) {
+            context.setIDGenerator(new PrefixedIDGenerator(idPrefix));
+        }
+
+        SVGGraphics2D svg = new SVGGraphics2D(context, false);
+        svg.setSVGCanvasSize(new Dimension(dimensions.width(), dimensions.height()));
+        return svg;
+    }
+
+    protected String stream(SVGGraphics2D svg, Element root) throws SVGGraphics2DIOException {
+        if (precision >= 0) {
+            SvgOptimizer.optimize(root, precision);
+            return SvgOptimizer.serialize(root);
+        }
 
         StringWriter writer = new StringWriter();
-        svg.stream(writer, true);
+        svg.stream(root, writer, true, false);
         return writer.toString();
     }
-}
\ No newline at end of file
+
+    private static class PrefixedIDGenerator extends SVGIDGenerator {
+
+        private final String idPrefix;
+
+        PrefixedIDGenerator(String idPrefix) {
+            this.idPrefix = idPrefix;
+        }
+
+        @Override
+        public String generateID(String prefix) {
+            return super.generateID(idPrefix + prefix);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package net.flectone.pulse.backend.generator;
 
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import net.flectone.pulse.backend.model.SvgDimensions;
+import net.flectone.pulse.backend.util.DownsamplingUtils;
+
 import java.awt.*;
 import java.awt.geom.Path2D;
 import java.time.Instant;
@@ -18,6 +22,9 @@ public class TimeSeriesSvg extends SvgGenerator {
     private static final float LINE_WIDTH = 2.5f;
     private static final int DOT_SIZE = 14;
     private static final int LEGEND_OFFSET = 100;
+    private static final int MIN_DATE_LABEL_SPACING = 110;
+
+    public static final int DEFAULT_MAX_POINTS = 400;
 
     private final Map<Instant, Map<Integer, Long>> firstData;
     private final Map<Instant, Map<Integer, Long>> secondData;
@@ -27,13 +34,20 @@ public class TimeSeriesSvg extends SvgGenerator {
     private final long yMax;
     private final double hourWidth;
     private final int hoursInLastDay;
+    private final int maxPoints;
 
-    public TimeSeriesSvg(Map<Instant, Map<Integer, Long>> firstData,
+    public TimeSeriesSvg(SvgDimensions dimensions,
+                         SvgColorPalette colors,
+                         Map<Instant, Map<Integer, Long>> firstData,
                          Map<Instant, Map<Integer, Long>> secondData,
                          List<Instant> sortedDates,
                          int hoursInLastDay,
                          String firstDataLabel,
-                         String secondDataLabel) {
+                         String secondDataLabel,
+                         int maxPoints) {
+        super(dimensions, colors);
+
+        this.maxPoints = maxPoints;
         this.firstDataLabel = firstDataLabel;
         this.secondDataLabel = secondDataLabel;
         this.firstData = firstData;
@@ -51,7 +65,17 @@ public class TimeSeriesSvg extends SvgGenerator {
 
         int totalDays = sortedDates.size();
         int totalHours = (totalDays - 1) * 24 + hoursInLastDay;
-        this.hourWidth = (double) dimensions.graphWidth() / totalHours;
+        this.hourWidth = (double) dimensions.graphWidth() / Math.max(1, totalHours);
+    }
+
+    public TimeSeriesSvg(Map<Instant, Map<Integer, Long>> firstData,
+                         Map<Instant, Map<Integer, Long>> secondData,
+                         List<Instant> sortedDates,
+                         int hoursInLastDay,
+                         String firstDataLabel,
+                         String secondDataLabel) {
+        this(DEFAULT_DIMENSIONS, SvgColorPalette.defaultPalette(),
+                firstData, secondData, sortedDates, hoursInLastDay, firstDataLabel, secondDataLabel, DEFAULT_MAX_POINTS);
     }
 
     @Override
@@ -64,8 +88,8 @@ public class TimeSeriesSvg extends SvgGenerator {
     }
 
     private void drawBackground() {
-        svg.setPaint(new Color(0, 0, 0, 0));
-        svg.fillRoundRect(
+        graphics.setPaint(new Color(0, 0, 0, 0));
+        graphics.fillRoundRect(
                 dimensions.margin() - 10,
                 dimensions.margin() - 10,
                 dimensions.graphWidth() + 20,
@@ -76,7 +100,7 @@ public class TimeSeriesSvg extends SvgGenerator {
     }
 
     private void drawGrid() {
-        svg.setStroke(new BasicStroke(0.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        graphics.setStroke(new BasicStroke(0.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
 
         for (int i = 0; i <= Y_TICKS; i++) {
             int yPosition = calculateYPosition(i);
@@ -90,8 +114,8 @@ public class TimeSeriesSvg extends SvgGenerator {
     }
 
     private void drawGridLine(int y) {
-        svg.setPaint(colors.grid());
-        svg.drawLine(
+        graphics.setPaint(colors.grid());
+        graphics.drawLine(
                 dimensions.margin() - 30,
                 y,
                 dimensions.margin() + dimensions.graphWidth() - 10,
@@ -100,12 +124,12 @@ public class TimeSeriesSvg extends SvgGenerator {
     }
 
     private void drawGridLabel(int y, int tick) {
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 15));
         String label = String.valueOf(tick * yMax / Y_TICKS);
-        svg.setPaint(colors.text());
-        svg.drawString(
+        graphics.setPaint(colors.text());
+        graphics.drawString(
                 label,
-                dimensions.margin() - 30 - svg.getFontMetrics().stringWidth(label),
+                dimensions.margin() - 30 - graphics.getFontMetrics().stringWidth(label),
                 y + 4
         );
     }
@@ -125,8 +149,11 @@ public class TimeSeriesSvg extends SvgGenerator {
         Path2D.Double path = new Path2D.Double();
         path.moveTo(dimensions.margin(), dimensions.margin() + dimensions.graphHeight());
 
-        double x = dimensions.margin();
+        int totalHours = (sortedDates.size() - 1) * 24 + hoursInLastDay;
+        double[] xs = new double[totalHours];
+        double[] ys = new double[totalHours];
 
+        int pointCount = 0;
         for (int dayIndex = 0; dayIndex < sortedDates.size(); dayIndex++) {
             Instant day = sortedDates.get(dayIndex);
             Map<Integer, Long> values = data.getOrDefault(day, Collections.emptyMap());
@@ -138,15 +165,23 @@ public class TimeSeriesSvg extends SvgGenerator {
 
             for (int hour = 0; hour < hoursInDay; hour++) {
                 int totalHour = dayIndex * 24 + hour;
-                x = calculateXPosition(totalHour);
-                long value = values.getOrDefault(hour, 0L);
-                int y = calculateYValue(value);
-
-                if (totalHour == 0) {
-                    path.lineTo(x, y);
-                } else {
-                    addCurveToPath(path, x, y);
-                }
+                xs[pointCount] = calculateXPosition(totalHour);
+                ys[pointCount] = calculateYValue(values.getOrDefault(hour, 0L));
+                pointCount++;
+            }
+        }
+
+        double x = dimensions.margin();
+        int[] indices = DownsamplingUtils.largestTriangleThreeBuckets(xs, ys, pointCount, maxPoints);
+
+        for (int i = 0; i < indices.length; i++) {
+            x = xs[indices[i]];
+            double y = ys[indices[i]];
+
+            if (i == 0) {
+                path.lineTo(x, y);
+            } else {
+                addCurveToPath(path, x, y);
             }
         }
 
@@ -184,32 +219,35 @@ public class TimeSeriesSvg extends SvgGenerator {
     }
 
     private void fillPath(Path2D path, Color baseColor) {
-        svg.setPaint(new Color(
+        graphics.setPaint(new Color(
                 baseColor.getRed(),
                 baseColor.getGreen(),
                 baseColor.getBlue(),
                 180
         ));
-        svg.fill(path);
+        graphics.fill(path);
     }
 
     private void strokePath(Path2D path, Color color) {
-        svg.setStroke(new BasicStroke(LINE_WIDTH, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        svg.setPaint(color);
-        svg.draw(path);
+        graphics.setStroke(new BasicStroke(LINE_WIDTH, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        graphics.setPaint(color);
+        graphics.draw(path);
     }
 
     private void drawDateLabels() {
-        svg.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        graphics.setFont(new Font("Segoe UI", Font.BOLD, 15));
+
+        int maxLabels = Math.max(1, dimensions.graphWidth() / MIN_DATE_LABEL_SPACING);
+        int labelStep = (sortedDates.size() + maxLabels - 1) / maxLabels;
 
-        for (int i = 0; i < sortedDates.size(); i++) {
+        for (int i = 0; i < sortedDates.size(); i += labelStep) {
             String label = formatDateLabel(sortedDates.get(i));
             double x = calculateLabelXPosition(i);
 
-            svg.setPaint(colors.text());
-            svg.drawString(
+            graphics.setPaint(colors.text());
+            graphics.drawString(
                     label,
-                    (int) (x - (double) svg.getFontMetrics().stringWidth(label) / 2),
+                    (int) (x - (double) graphics.getFontMetrics().stringWidth(label) / 2),
                     dimensions.margin() + dimensions.graphHeight() + 28
             );
         }
@@ -234,10 +272,10 @@ public class TimeSeriesSvg extends SvgGenerator {
     }
 
     private void drawLegendItem(int x, int y, Color color, String text, Map<Instant, Map<Integer, Long>> data) {
-        svg.setPaint(color);
-        svg.fillOval(x, y - DOT_SIZE/2, DOT_SIZE, DOT_SIZE);
+        graphics.setPaint(color);
+        graphics.fillOval(x, y - DOT_SIZE/2, DOT_SIZE, DOT_SIZE);
 
-        svg.setPaint(colors.text());
+        graphics.setPaint(colors.text());
 
         Instant currentDay = sortedDates.get(sortedDates.size() - 1);
 
@@ -251,6 +289,6 @@ public class TimeSeriesSvg extends SvgGenerator {
                         .getOrDefault(lastHour, 0L)
         );
 
-        svg.drawString(count + text, x + DOT_SIZE + 10, y + 5);
+        graphics.drawString(count + text, x + DOT_SIZE + 10, y + 5);
     }
 }
\ No newline at end of file
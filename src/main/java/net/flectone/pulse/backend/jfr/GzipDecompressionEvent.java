@@ -0,0 +1,21 @@
+package net.flectone.pulse.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.flectone.pulse.GzipDecompression")
+@Label("Gzip Decompression")
+@Category({"FlectonePulse", "Ingest"})
+@Description("Decompression of a gzip encoded request body")
+@Threshold("5 ms")
+@StackTrace(false)
+public class GzipDecompressionEvent extends Event {
+
+    @Label("Compressed Size")
+    @DataAmount
+    public long compressedBytes;
+
+    @Label("Decompressed Size")
+    @DataAmount
+    public long decompressedBytes;
+
+}
@@ -0,0 +1,26 @@
+package net.flectone.pulse.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.flectone.pulse.Ingest")
+@Label("Report Ingest")
+@Category({"FlectonePulse", "Ingest"})
+@Description("Handling of a single metrics report")
+@Threshold("20 ms")
+@StackTrace(false)
+public class IngestEvent extends Event {
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Content Type")
+    public String contentType;
+
+    @Label("Compressed")
+    public boolean compressed;
+
+    @Label("Location")
+    public String location;
+
+}
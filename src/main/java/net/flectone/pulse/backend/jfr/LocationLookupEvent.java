@@ -0,0 +1,19 @@
+package net.flectone.pulse.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.flectone.pulse.LocationLookup")
+@Label("Location Lookup")
+@Category({"FlectonePulse", "Ingest"})
+@Description("Resolution of a client location from its IP address")
+@Threshold("50 ms")
+@StackTrace(false)
+public class LocationLookupEvent extends Event {
+
+    @Label("Location")
+    public String location;
+
+    @Label("Success")
+    public boolean success;
+
+}
@@ -0,0 +1,19 @@
+package net.flectone.pulse.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.flectone.pulse.RepositoryFetch")
+@Label("Repository Fetch")
+@Category({"FlectonePulse", "Query"})
+@Description("Load of server metrics rows from the database")
+@Threshold("50 ms")
+@StackTrace(false)
+public class RepositoryFetchEvent extends Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Row Count")
+    public int rowCount;
+
+}
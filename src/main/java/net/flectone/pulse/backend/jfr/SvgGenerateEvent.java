@@ -0,0 +1,26 @@
+package net.flectone.pulse.backend.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.flectone.pulse.SvgGenerate")
+@Label("SVG Generate")
+@Category({"FlectonePulse", "Render"})
+@Description("Rendering and serialization of a single chart")
+@Threshold("20 ms")
+@StackTrace(false)
+public class SvgGenerateEvent extends Event {
+
+    @Label("Generator")
+    public String generator;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Output Size")
+    @DataAmount
+    public long outputBytes;
+
+}
@@ -0,0 +1,28 @@
+package net.flectone.pulse.backend.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum ChartFormat {
+
+    SVG("svg", MediaType.valueOf("image/svg+xml")),
+    PNG("png", MediaType.IMAGE_PNG);
+
+    private final String value;
+    private final MediaType mediaType;
+
+    public static ChartFormat fromValue(String value) {
+        if (value == null) return null;
+
+        for (ChartFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package net.flectone.pulse.backend.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ChartTheme {
+
+    DARK("dark", SvgColorPalette.defaultPalette()),
+    LIGHT("light", SvgColorPalette.lightPalette());
+
+    private final String value;
+    private final SvgColorPalette palette;
+
+    public static ChartTheme fromValue(String value) {
+        if (value == null) return null;
+
+        for (ChartTheme theme : values()) {
+            if (theme.value.equalsIgnoreCase(value)) {
+                return theme;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package net.flectone.pulse.backend.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ChartWindow {
+
+    HOUR("1h", 1),
+    DAY("1d", 24),
+    WEEK("7d", 7 * 24),
+    MONTH("30d", 30 * 24),
+    QUARTER("90d", 90 * 24),
+    YEAR("365d", 365 * 24);
+
+    private final String value;
+    private final int hours;
+
+    public int getDays() {
+        return Math.max(1, hours / 24);
+    }
+
+    public ChartWindow clamp(ChartWindow min, ChartWindow max) {
+        if (compareTo(min) < 0) return min;
+        if (compareTo(max) > 0) return max;
+        return this;
+    }
+
+    public static ChartWindow fromValue(String value) {
+        if (value == null) return null;
+
+        for (ChartWindow window : values()) {
+            if (window.value.equalsIgnoreCase(value) || window.name().equalsIgnoreCase(value)) {
+                return window;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package net.flectone.pulse.backend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+    private Instant expiresAt;
+}
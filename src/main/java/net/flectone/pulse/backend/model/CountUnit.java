@@ -0,0 +1,14 @@
+package net.flectone.pulse.backend.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CountUnit {
+
+    REPORTS("reports"),
+    SERVERS("servers");
+
+    private final String value;
+}
@@ -0,0 +1,13 @@
+package net.flectone.pulse.backend.model;
+
+import java.util.Map;
+
+public record LiveCounters(long sequence,
+                           String hour,
+                           long reports,
+                           long players,
+                           Map<String, CoreCounters> cores) {
+
+    public record CoreCounters(long reports, long players) {}
+
+}
@@ -0,0 +1,56 @@
+package net.flectone.pulse.backend.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.util.VersionRegistry;
+
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor
+public enum MetricsDimension {
+
+    SERVER_CORE(MetricsDTO::getServerCore, byCount()),
+    SERVER_VERSION(MetricsDTO::getServerVersion, null),
+    RAM(m -> (int) Math.ceil(m.getTotalRAM() / (1024.0 * 1024.0 * 1024.0)), byNumber()),
+    ONLINE_MODE(MetricsDTO::getOnlineMode, byCount()),
+    PROJECT_VERSION(MetricsDTO::getProjectVersion, null),
+    PROJECT_LANGUAGE(MetricsDTO::getProjectLanguage, byCount()),
+    PROXY_MODE(MetricsDTO::getProxyMode, byCount()),
+    DATABASE_MODE(MetricsDTO::getDatabaseMode, byCount()),
+    LOCATION(MetricsDTO::getLocation, byCount()),
+    JAVA_VERSION(MetricsDTO::getJavaVersion, null),
+    CPU_CORES(MetricsDTO::getCpuCores, byNumber()),
+    OS_ARCHITECTURE(MetricsDTO::getOsArchitecture, byCount()),
+    OS_NAME(MetricsDTO::getOsName, byCount());
+
+    public static final Set<MetricsDimension> VERSIONED = EnumSet.of(SERVER_VERSION, PROJECT_VERSION, JAVA_VERSION);
+
+    private final Function<MetricsDTO, Object> classifier;
+    @Getter(AccessLevel.NONE)
+    private final Comparator<Map.Entry<String, Long>> sorter;
+
+    public String classify(MetricsDTO metricsDTO) {
+        return String.valueOf(classifier.apply(metricsDTO));
+    }
+
+    public Comparator<Map.Entry<String, Long>> getSorter(VersionRegistry versionRegistry) {
+        return sorter == null
+                ? Map.Entry.comparingByKey(versionRegistry.comparator().reversed())
+                : sorter;
+    }
+
+    private static Comparator<Map.Entry<String, Long>> byCount() {
+        return Map.Entry.<String, Long>comparingByValue().reversed();
+    }
+
+    private static Comparator<Map.Entry<String, Long>> byNumber() {
+        return Comparator.<Map.Entry<String, Long>>comparingInt(e -> Integer.parseInt(e.getKey())).reversed();
+    }
+}
@@ -0,0 +1,54 @@
+package net.flectone.pulse.backend.model;
+
+import org.springframework.data.util.Pair;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record MetricsSnapshot(Instant hour,
+                              ChartWindow window,
+                              long total,
+                              CountUnit unit,
+                              Map<MetricsDimension, Map<String, Long>> distributions,
+                              Map<String, Pair<Long, Long>> serverTypes,
+                              Map<String, Long> modules) {
+
+    public static final String OTHER = "Other";
+
+    public Map<String, Long> getDistribution(MetricsDimension dimension) {
+        return distributions.getOrDefault(dimension, Map.of());
+    }
+
+    public Map<String, Long> getDistribution(MetricsDimension dimension, int limit) {
+        return fold(getDistribution(dimension), limit);
+    }
+
+    public static Map<String, Long> fold(Map<String, Long> distribution, int limit) {
+        Set<String> kept = distribution.entrySet().stream()
+                .filter(e -> !OTHER.equals(e.getKey()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        Map<String, Long> folded = new LinkedHashMap<>();
+        long other = 0;
+        for (Map.Entry<String, Long> entry : distribution.entrySet()) {
+            if (kept.contains(entry.getKey())) {
+                folded.put(entry.getKey(), entry.getValue());
+            } else {
+                other += entry.getValue();
+            }
+        }
+
+        if (other > 0) {
+            folded.put(OTHER, other);
+        }
+
+        return folded;
+    }
+
+}
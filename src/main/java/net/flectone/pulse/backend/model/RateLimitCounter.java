@@ -0,0 +1,24 @@
+package net.flectone.pulse.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitCounter {
+
+    @Id
+    @Column(length = 128)
+    private String id;
+
+    private Instant windowStart;
+    private long hits;
+}
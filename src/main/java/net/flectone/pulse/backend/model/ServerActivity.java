@@ -0,0 +1,6 @@
+package net.flectone.pulse.backend.model;
+
+import java.time.Instant;
+
+public record ServerActivity(Instant createdAt, int playerCount) {
+}
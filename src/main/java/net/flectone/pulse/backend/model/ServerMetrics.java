@@ -34,6 +34,9 @@ public class ServerMetrics {
     private String databaseMode;
     private int playerCount;
 
+    @Column(length = 64)
+    private String serverId;
+
     @Column(columnDefinition = "TEXT")
     private String modules;
 
@@ -0,0 +1,28 @@
+package net.flectone.pulse.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SharedChart {
+
+    @Id
+    @Column(length = 512)
+    private String cacheKey;
+
+    private String contentType;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] body;
+
+    private String owner;
+    private Instant createdAt;
+}
@@ -13,4 +13,15 @@ public record SvgColorPalette(Color primary, Color secondary, Color text, Color
                 new Color(255, 150, 100)
         );
     }
+
+    public static SvgColorPalette lightPalette() {
+        return new SvgColorPalette(
+                new Color(0, 122, 204),
+                new Color(46, 160, 67),
+                new Color(36, 41, 47),
+                new Color(200, 200, 210, 150),
+                new Color(46, 160, 67),
+                new Color(214, 90, 50)
+        );
+    }
 }
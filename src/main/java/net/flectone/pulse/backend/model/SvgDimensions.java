@@ -2,8 +2,16 @@ package net.flectone.pulse.backend.model;
 
 public record SvgDimensions(int width, int height, int margin, int graphWidth, int graphHeight) {
 
+    private static final int DEFAULT_MARGIN = 80;
+    private static final int MARGIN_REFERENCE_SIZE = 600;
+
     public SvgDimensions(int width, int height, int margin) {
         this(width, height, margin, width - 2 * margin, height - 2 * margin);
     }
 
+    public static SvgDimensions withScaledMargin(int width, int height) {
+        int margin = Math.min(DEFAULT_MARGIN, Math.min(width, height) * DEFAULT_MARGIN / MARGIN_REFERENCE_SIZE);
+        return new SvgDimensions(width, height, margin);
+    }
+
 }
@@ -0,0 +1,13 @@
+package net.flectone.pulse.backend.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record TimeSeriesSnapshot(Instant hour,
+                                 ChartWindow window,
+                                 List<Instant> days,
+                                 Map<Instant, Map<Integer, Long>> playersByDayHour,
+                                 Map<Instant, Map<Integer, Long>> serversByDayHour,
+                                 int hoursInLastDay) {
+}
@@ -0,0 +1,27 @@
+package net.flectone.pulse.backend.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum VersionLevel {
+
+    MAJOR("major"),
+    MINOR("minor"),
+    PATCH("patch");
+
+    private final String value;
+
+    public static VersionLevel fromValue(String value) {
+        if (value == null) return null;
+
+        for (VersionLevel level : values()) {
+            if (level.value.equalsIgnoreCase(value)) {
+                return level;
+            }
+        }
+
+        return null;
+    }
+}
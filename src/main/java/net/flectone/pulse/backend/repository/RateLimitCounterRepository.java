@@ -0,0 +1,19 @@
+package net.flectone.pulse.backend.repository;
+
+import net.flectone.pulse.backend.model.RateLimitCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface RateLimitCounterRepository extends JpaRepository<RateLimitCounter, String> {
+
+    @Modifying
+    @Query("delete from RateLimitCounter c where c.windowStart <= :cutoff")
+    int deleteWindowsBefore(@Param("cutoff") Instant cutoff);
+
+}
@@ -0,0 +1,21 @@
+package net.flectone.pulse.backend.repository;
+
+import net.flectone.pulse.backend.model.SharedChart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface SharedChartRepository extends JpaRepository<SharedChart, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from SharedChart c where c.createdAt < :createdAt")
+    int deleteCreatedBefore(@Param("createdAt") Instant createdAt);
+
+}
@@ -0,0 +1,148 @@
+package net.flectone.pulse.backend.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.aspect.CachedHourlySvg;
+import net.flectone.pulse.backend.aspect.CachedHourlySvgAspect;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.ChartParams;
+import net.flectone.pulse.backend.dto.WindowParams;
+import net.flectone.pulse.backend.service.ClusterCoordinator;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HourlyCacheWarmer {
+
+    private final ApplicationContext applicationContext;
+    private final CachedHourlySvgAspect cachedHourlySvgAspect;
+    private final PulseProperties pulseProperties;
+    private final ClusterCoordinator clusterCoordinator;
+
+    private final List<WarmupTarget> targets = new CopyOnWriteArrayList<>();
+
+    private volatile ExecutorService executorService;
+
+    private record WarmupTarget(Object bean, Method method, Object[] args, String baseKey) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        PulseProperties.Cache cacheProperties = pulseProperties.getCache();
+        if (!cacheProperties.isPrewarmEnabled()) {
+            return;
+        }
+
+        applicationContext.getBeansWithAnnotation(Controller.class).values().forEach(this::registerTargets);
+        clusterCoordinator.renewLease();
+
+        executorService = Executors.newFixedThreadPool(
+                cacheProperties.getPrewarmParallelism(),
+                new CustomizableThreadFactory("svg-prewarm-")
+        );
+
+        warm();
+    }
+
+    @Scheduled(cron = "${pulse.cache.prewarm-cron}")
+    public void warm() {
+        ExecutorService executor = executorService;
+        if (executor == null || !clusterCoordinator.isLeader()) {
+            return;
+        }
+
+        Instant currentHour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+
+        for (WarmupTarget target : targets) {
+            String key = CachedHourlySvgAspect.createKey(target.baseKey(), currentHour);
+            if (!cachedHourlySvgAspect.startWarming(key)) {
+                continue;
+            }
+
+            executor.execute(() -> {
+                Object result = null;
+
+                try {
+                    result = target.method().invoke(target.bean(), target.args());
+                } catch (ReflectiveOperationException e) {
+                    log.warn("Failed to prewarm {}", key, e);
+                } finally {
+                    cachedHourlySvgAspect.finishWarming(key, result);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void registerTargets(Object bean) {
+        Object target = getUltimateTarget(bean);
+
+        for (Method method : AopUtils.getTargetClass(bean).getMethods()) {
+            if (!method.isAnnotationPresent(CachedHourlySvg.class)) {
+                continue;
+            }
+
+            Object[] args = createDefaultArgs(method);
+            if (args != null) {
+                String baseKey = CachedHourlySvgAspect.getBaseKey(method, args);
+                targets.add(new WarmupTarget(target, method, args, baseKey));
+                cachedHourlySvgAspect.registerPrewarmed(baseKey);
+            }
+        }
+    }
+
+    private Object[] createDefaultArgs(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == ChartParams.class) {
+                args[i] = ChartParams.DEFAULT;
+            } else if (parameterTypes[i] == WindowParams.class) {
+                args[i] = WindowParams.DEFAULT;
+            } else {
+                return null;
+            }
+        }
+
+        return args;
+    }
+
+    private Object getUltimateTarget(Object bean) {
+        Object target = bean;
+
+        while (AopUtils.isAopProxy(target)) {
+            Object singletonTarget = AopProxyUtils.getSingletonTarget(target);
+            if (singletonTarget == null) {
+                break;
+            }
+
+            target = singletonTarget;
+        }
+
+        return target;
+    }
+}
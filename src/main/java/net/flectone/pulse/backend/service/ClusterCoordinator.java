@@ -0,0 +1,160 @@
+package net.flectone.pulse.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.model.SharedChart;
+import net.flectone.pulse.backend.repository.ClusterLeaseRepository;
+import net.flectone.pulse.backend.repository.SharedChartRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class ClusterCoordinator {
+
+    private static final String LEASE_NAME = "hourly-aggregation";
+    private static final long POLL_INTERVAL_MILLIS = 250;
+
+    private final ClusterLeaseRepository clusterLeaseRepository;
+    private final SharedChartRepository sharedChartRepository;
+    private final PulseProperties.Cluster clusterProperties;
+
+    private volatile Instant leaseExpiresAt = Instant.EPOCH;
+
+    public ClusterCoordinator(ClusterLeaseRepository clusterLeaseRepository,
+                              SharedChartRepository sharedChartRepository,
+                              PulseProperties pulseProperties) {
+        this.clusterLeaseRepository = clusterLeaseRepository;
+        this.sharedChartRepository = sharedChartRepository;
+        this.clusterProperties = pulseProperties.getCluster();
+    }
+
+    public boolean isEnabled() {
+        return clusterProperties.isEnabled();
+    }
+
+    public boolean isLeader() {
+        return !isEnabled() || Instant.now().isBefore(leaseExpiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${pulse.cluster.renew-interval}")
+    public void renewLease() {
+        if (!isEnabled()) return;
+
+        boolean wasLeader = isLeader();
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(clusterProperties.getLeaseTtl());
+
+        try {
+            if (acquire(now, expiresAt)) {
+                leaseExpiresAt = expiresAt;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew cluster lease", e);
+        }
+
+        boolean leader = isLeader();
+        if (leader != wasLeader) {
+            log.info("Node {} {} the {} lease", clusterProperties.getNodeId(), leader ? "acquired" : "lost", LEASE_NAME);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (!isEnabled() || !isLeader()) return;
+
+        try {
+            clusterLeaseRepository.release(LEASE_NAME, clusterProperties.getNodeId(), Instant.now());
+        } catch (DataAccessException e) {
+            log.warn("Failed to release cluster lease", e);
+        }
+    }
+
+    public Object load(String key) {
+        if (!isEnabled()) return null;
+
+        try {
+            return sharedChartRepository.findById(key)
+                    .map(chart -> ResponseEntity.ok()
+                            .contentType(MediaType.parseMediaType(chart.getContentType()))
+                            .body(chart.getBody()))
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("Failed to load shared chart {}", key, e);
+            return null;
+        }
+    }
+
+    public Object awaitShared(String key) {
+        if (!isEnabled() || isLeader()) return null;
+
+        long deadline = System.nanoTime() + clusterProperties.getFollowerWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            Object shared = load(key);
+            if (shared != null) {
+                return shared;
+            }
+
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    public void publish(String key, Object value) {
+        if (!isEnabled() || !isLeader()) return;
+        if (!(value instanceof ResponseEntity<?> responseEntity) || !(responseEntity.getBody() instanceof byte[] body)) return;
+
+        String contentType = Optional.ofNullable(responseEntity.getHeaders().getContentType())
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        try {
+            sharedChartRepository.save(new SharedChart(key, contentType, body, clusterProperties.getNodeId(), Instant.now()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish shared chart {}", key, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pulse.cluster.cleanup-interval}")
+    public void deleteExpiredCharts() {
+        if (!isEnabled() || !isLeader()) return;
+
+        try {
+            sharedChartRepository.deleteCreatedBefore(Instant.now().minus(clusterProperties.getRetention()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to delete expired shared charts", e);
+        }
+    }
+
+    private boolean acquire(Instant now, Instant expiresAt) {
+        String owner = clusterProperties.getNodeId();
+        if (clusterLeaseRepository.acquire(LEASE_NAME, owner, expiresAt, now) > 0) {
+            return true;
+        }
+
+        if (clusterLeaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+
+        try {
+            return clusterLeaseRepository.insert(LEASE_NAME, owner, expiresAt) > 0;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
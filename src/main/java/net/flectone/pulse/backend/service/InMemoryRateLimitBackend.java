@@ -0,0 +1,34 @@
+package net.flectone.pulse.backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+@ConditionalOnProperty(prefix = "pulse.rate-limit", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Window> exchange(Map<String, Window> deltas, Instant cutoff) {
+        Map<String, Window> totals = new HashMap<>();
+        deltas.forEach((key, delta) -> totals.put(key, windows.compute(key, (k, existing) ->
+                existing == null || !existing.start().isAfter(cutoff)
+                        ? delta
+                        : new Window(existing.start(), existing.hits() + delta.hits())
+        )));
+
+        return totals;
+    }
+
+    @Override
+    public void deleteBefore(Instant cutoff) {
+        windows.values().removeIf(window -> !window.start().isAfter(cutoff));
+    }
+}
@@ -0,0 +1,124 @@
+package net.flectone.pulse.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Slf4j
+@Service
+public class IngestBuffer {
+
+    private final MetricsService metricsService;
+    private final IngestJournal ingestJournal;
+    private final PulseProperties.Journal journalProperties;
+    private final BlockingQueue<IngestJournal.Entry> queue;
+    private final List<IngestJournal.Entry> retry = new ArrayList<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("ingest-flush-")
+    );
+
+    public IngestBuffer(MetricsService metricsService,
+                        IngestJournal ingestJournal,
+                        PulseProperties pulseProperties,
+                        MeterRegistry meterRegistry) {
+        this.metricsService = metricsService;
+        this.ingestJournal = ingestJournal;
+        this.journalProperties = pulseProperties.getJournal();
+        this.queue = new ArrayBlockingQueue<>(journalProperties.getBufferCapacity());
+
+        meterRegistry.gauge("pulse.ingest.buffer.size", queue, BlockingQueue::size);
+    }
+
+    public void submit(MetricsDTO metricsDTO) {
+        if (!ingestJournal.isEnabled() || queue.remainingCapacity() == 0) {
+            metricsService.saveMetrics(metricsDTO);
+            return;
+        }
+
+        long sequence;
+        try {
+            sequence = ingestJournal.append(metricsDTO);
+        } catch (IOException e) {
+            log.warn("Failed to journal report, saving it directly", e);
+            metricsService.saveMetrics(metricsDTO);
+            return;
+        }
+
+        try {
+            queue.put(new IngestJournal.Entry(sequence, metricsDTO));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while buffering a journaled report", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replay() {
+        if (!ingestJournal.isEnabled()) return;
+
+        List<IngestJournal.Entry> recovered = ingestJournal.drainRecovered();
+        if (!recovered.isEmpty()) {
+            synchronized (this) {
+                retry.addAll(recovered);
+            }
+        }
+
+        long interval = journalProperties.getFlushInterval().toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean flush() {
+        return flush(journalProperties.getMaxBatchesPerFlush());
+    }
+
+    private synchronized boolean flush(int maxBatches) {
+        if (!ingestJournal.isEnabled()) return false;
+
+        for (int i = 0; i < maxBatches; i++) {
+            List<IngestJournal.Entry> batch = new ArrayList<>(retry.subList(0, Math.min(retry.size(), journalProperties.getBatchSize())));
+            int retried = batch.size();
+            queue.drainTo(batch, journalProperties.getBatchSize() - retried);
+            if (batch.isEmpty()) return false;
+
+            try {
+                metricsService.saveAllMetrics(batch.stream().map(IngestJournal.Entry::metricsDTO).toList());
+            } catch (RuntimeException e) {
+                log.warn("Failed to save a batch of {} reports, keeping it for the next flush", batch.size(), e);
+                retry.addAll(batch.subList(retried, batch.size()));
+                return true;
+            }
+
+            retry.subList(0, retried).clear();
+            ingestJournal.complete(batch.stream().map(IngestJournal.Entry::sequence).toList());
+        }
+
+        return !queue.isEmpty() || !retry.isEmpty();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Ingest flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(journalProperties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+        flush(Integer.MAX_VALUE);
+    }
+}
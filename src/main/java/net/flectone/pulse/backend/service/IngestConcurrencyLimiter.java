@@ -0,0 +1,68 @@
+package net.flectone.pulse.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.flectone.pulse.backend.config.PulseProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class IngestConcurrencyLimiter {
+
+    private final PulseProperties.LoadShedding loadSheddingProperties;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public IngestConcurrencyLimiter(PulseProperties pulseProperties, MeterRegistry meterRegistry) {
+        this.loadSheddingProperties = pulseProperties.getLoadShedding();
+        this.targetLatencyNanos = loadSheddingProperties.getTargetLatency().toNanos();
+        this.limit = loadSheddingProperties.getInitialLimit();
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+
+        meterRegistry.gauge("pulse.ingest.limit", this, IngestConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("pulse.ingest.in-flight", inFlight);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSample(long latencyNanos, boolean failed) {
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                    limit = Math.max(loadSheddingProperties.getMinLimit(), limit * loadSheddingProperties.getBackoffRatio());
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlight.get() * 2 >= getLimit()) {
+                limit = Math.min(loadSheddingProperties.getMaxLimit(), limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public double getUtilization() {
+        return (double) inFlight.get() / Math.max(1, getLimit());
+    }
+}
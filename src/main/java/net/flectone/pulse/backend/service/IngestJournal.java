@@ -0,0 +1,294 @@
+package net.flectone.pulse.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+@Component
+public class IngestJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+
+    private final PulseProperties.Journal journalProperties;
+    private final ObjectMapper objectMapper;
+    private final Timer appendTimer;
+    private final Timer syncTimer;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+    private final List<Entry> recovered = new ArrayList<>();
+    private final Object syncMonitor = new Object();
+
+    private MappedByteBuffer checkpoint;
+    private Segment activeSegment;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean syncing;
+
+    public IngestJournal(PulseProperties pulseProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.journalProperties = pulseProperties.getJournal();
+        this.objectMapper = objectMapper;
+        this.appendTimer = meterRegistry.timer("pulse.journal.append");
+        this.syncTimer = meterRegistry.timer("pulse.journal.sync");
+
+        meterRegistry.gauge("pulse.journal.pending", pending, ConcurrentSkipListSet::size);
+        meterRegistry.gauge("pulse.journal.segments", segments, List::size);
+
+        if (journalProperties.isEnabled()) {
+            try {
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open ingest journal in " + journalProperties.getDirectory(), e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return journalProperties.isEnabled();
+    }
+
+    public List<Entry> drainRecovered() {
+        synchronized (this) {
+            List<Entry> entries = new ArrayList<>(recovered);
+            recovered.clear();
+            return entries;
+        }
+    }
+
+    public long append(MetricsDTO metricsDTO) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(metricsDTO);
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > journalProperties.getSegmentSize().toBytes()) {
+            throw new IOException("Report of " + payload.length + " bytes does not fit into a journal segment");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long start = System.nanoTime();
+        long sequence;
+
+        synchronized (this) {
+            if (activeSegment.position + recordSize > activeSegment.buffer.capacity()) {
+                roll();
+            }
+
+            sequence = ++appendedSequence;
+
+            MappedByteBuffer buffer = activeSegment.buffer;
+            int position = activeSegment.position;
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.putLong(position + Integer.BYTES * 2, sequence);
+            buffer.put(position + HEADER_SIZE, payload);
+            buffer.putInt(position, payload.length);
+
+            activeSegment.position += recordSize;
+            activeSegment.lastSequence = sequence;
+            pending.add(sequence);
+        }
+
+        awaitDurable(sequence);
+        appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return sequence;
+    }
+
+    public void complete(List<Long> sequences) {
+        sequences.forEach(pending::remove);
+
+        long committed;
+        synchronized (this) {
+            committed = pending.isEmpty() ? appendedSequence : pending.first() - 1;
+            if (committed <= checkpoint.getLong(0)) return;
+
+            checkpoint.putLong(0, committed);
+        }
+
+        if (journalProperties.isFsync()) {
+            long start = System.nanoTime();
+            checkpoint.force();
+            syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        synchronized (this) {
+            segments.removeIf(segment -> {
+                if (segment == activeSegment || segment.lastSequence > committed) return false;
+
+                delete(segment.path);
+                return true;
+            });
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        if (!journalProperties.isFsync()) return;
+
+        while (true) {
+            synchronized (syncMonitor) {
+                if (durableSequence >= sequence) return;
+
+                if (syncing) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for journal sync", e);
+                    }
+
+                    continue;
+                }
+
+                syncing = true;
+            }
+
+            long synced = 0;
+            try {
+                Segment segment;
+                long target;
+                synchronized (this) {
+                    segment = activeSegment;
+                    target = appendedSequence;
+                }
+
+                long start = System.nanoTime();
+                segment.buffer.force();
+                checkpoint.force();
+                syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                synced = target;
+            } finally {
+                synchronized (syncMonitor) {
+                    durableSequence = Math.max(durableSequence, synced);
+                    syncing = false;
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        Path directory = Path.of(journalProperties.getDirectory());
+        Files.createDirectories(directory);
+
+        checkpoint = map(directory.resolve(CHECKPOINT_FILE), Long.BYTES);
+        long committed = checkpoint.getLong(0);
+        appendedSequence = committed;
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path path : paths) {
+            MappedByteBuffer buffer = map(path, Files.size(path));
+            Segment segment = new Segment(path, buffer);
+
+            while (segment.position + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(segment.position);
+                if (length <= 0 || segment.position + HEADER_SIZE + length > buffer.capacity()) break;
+
+                int checksum = buffer.getInt(segment.position + Integer.BYTES);
+                long sequence = buffer.getLong(segment.position + Integer.BYTES * 2);
+
+                byte[] payload = new byte[length];
+                buffer.get(segment.position + HEADER_SIZE, payload);
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Stopping replay of {} at a torn record", path.getFileName());
+                    break;
+                }
+
+                if (sequence > committed) {
+                    recovered.add(new Entry(sequence, objectMapper.readValue(payload, MetricsDTO.class)));
+                    pending.add(sequence);
+                }
+
+                appendedSequence = Math.max(appendedSequence, sequence);
+                segment.lastSequence = sequence;
+                segment.position += HEADER_SIZE + length;
+            }
+
+            if (segment.lastSequence > committed) {
+                segments.add(segment);
+            } else {
+                delete(path);
+            }
+        }
+
+        durableSequence = appendedSequence;
+        roll();
+
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} unsaved reports from the ingest journal", recovered.size());
+        }
+    }
+
+    private void roll() throws IOException {
+        if (activeSegment != null) {
+            activeSegment.buffer.force();
+        }
+
+        Path path = Path.of(journalProperties.getDirectory())
+                .resolve(String.format("%s%020d%s", SEGMENT_PREFIX, appendedSequence + 1, SEGMENT_SUFFIX));
+
+        activeSegment = new Segment(path, map(path, journalProperties.getSegmentSize().toBytes()));
+        activeSegment.lastSequence = appendedSequence;
+        segments.add(activeSegment);
+    }
+
+    private MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete journal segment {}", path.getFileName(), e);
+        }
+    }
+
+    public record Entry(long sequence, MetricsDTO metricsDTO) {}
+
+    private static class Segment {
+
+        private final Path path;
+        private final MappedByteBuffer buffer;
+
+        private int position;
+        private long lastSequence;
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
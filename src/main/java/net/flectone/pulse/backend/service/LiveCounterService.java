@@ -0,0 +1,210 @@
+package net.flectone.pulse.backend.service;
+
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.model.LiveCounters;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class LiveCounterService {
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private final MetricsService metricsService;
+    private final Gson gson;
+    private final PulseProperties.Live liveProperties;
+
+    private final AtomicReference<HourCounters> counters;
+    private final AtomicLong version = new AtomicLong();
+    private final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor broadcastExecutor = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            new CustomizableThreadFactory("live-broadcast-"),
+            new ThreadPoolExecutor.DiscardOldestPolicy()
+    );
+
+    private volatile Set<ResponseBodyEmitter.DataWithMediaType> lastFrame;
+    private long publishedVersion = -1;
+    private Instant publishedHour;
+    private long sequence;
+    private long lastSentAt;
+
+    public LiveCounterService(MetricsService metricsService, Gson gson, PulseProperties pulseProperties, MeterRegistry meterRegistry) {
+        this.metricsService = metricsService;
+        this.gson = gson;
+        this.liveProperties = pulseProperties.getLive();
+        this.counters = new AtomicReference<>(new HourCounters(currentHour(), liveProperties.getMaxCores()));
+
+        meterRegistry.gauge("pulse.live.subscribers", emitters, CopyOnWriteArrayList::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Instant now = Instant.now();
+        int minutes = (int) ChronoUnit.MINUTES.between(currentHour(), now) + 1;
+
+        metricsService.getMetrics(minutes, ChronoUnit.MINUTES).stream()
+                .filter(metricsDTO -> metricsDTO.getCreatedAt() == null || !metricsDTO.getCreatedAt().isBefore(currentHour()))
+                .forEach(this::record);
+    }
+
+    public void record(MetricsDTO metricsDTO) {
+        getCounters().add(metricsDTO);
+        version.incrementAndGet();
+    }
+
+    public SseEmitter subscribe() {
+        if (emitters.size() >= liveProperties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(liveProperties.getEmitterTimeout().toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(throwable -> emitters.remove(emitter));
+
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = lastFrame;
+        if (frame != null) {
+            try {
+                emitter.send(frame);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+        }
+
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${pulse.live.tick}")
+    public synchronized void tick() {
+        long currentVersion = version.get();
+        HourCounters current = getCounters();
+        long now = System.currentTimeMillis();
+
+        if (lastFrame == null || currentVersion != publishedVersion || !current.hour.equals(publishedHour)) {
+            publishedVersion = currentVersion;
+            publishedHour = current.hour;
+            lastFrame = createFrame(current.snapshot(++sequence));
+            broadcast(lastFrame);
+            lastSentAt = now;
+        } else if (now - lastSentAt >= liveProperties.getHeartbeat().toMillis()) {
+            broadcast(HEARTBEAT);
+            lastSentAt = now;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcastExecutor.shutdownNow();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> createFrame(LiveCounters liveCounters) {
+        return SseEmitter.event()
+                .id(String.valueOf(liveCounters.sequence()))
+                .name("counters")
+                .data(gson.toJson(liveCounters), MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private void broadcast(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        broadcastExecutor.execute(() -> send(frame));
+    }
+
+    private void send(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private HourCounters getCounters() {
+        Instant hour = currentHour();
+
+        HourCounters current = counters.get();
+        while (current.hour.isBefore(hour)) {
+            HourCounters next = new HourCounters(hour, liveProperties.getMaxCores());
+            if (counters.compareAndSet(current, next)) {
+                return next;
+            }
+
+            current = counters.get();
+        }
+
+        return current;
+    }
+
+    private static Instant currentHour() {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static class HourCounters {
+
+        private final Instant hour;
+        private final int maxCores;
+        private final LongAdder reports = new LongAdder();
+        private final LongAdder players = new LongAdder();
+        private final ConcurrentMap<String, LongAdder[]> cores = new ConcurrentHashMap<>();
+
+        private HourCounters(Instant hour, int maxCores) {
+            this.hour = hour;
+            this.maxCores = maxCores;
+        }
+
+        private void add(MetricsDTO metricsDTO) {
+            reports.increment();
+            players.add(metricsDTO.getPlayerCount());
+
+            String serverCore = String.valueOf(metricsDTO.getServerCore());
+            if (!cores.containsKey(serverCore) && cores.size() >= maxCores) {
+                serverCore = MetricsSnapshot.OTHER;
+            }
+
+            LongAdder[] core = cores.computeIfAbsent(serverCore, k -> new LongAdder[]{new LongAdder(), new LongAdder()});
+            core[0].increment();
+            core[1].add(metricsDTO.getPlayerCount());
+        }
+
+        private LiveCounters snapshot(long sequence) {
+            Map<String, LiveCounters.CoreCounters> coreCounters = new TreeMap<>();
+            cores.forEach((core, values) -> coreCounters.put(core, new LiveCounters.CoreCounters(values[0].sum(), values[1].sum())));
+
+            return new LiveCounters(sequence, hour.toString(), reports.sum(), players.sum(), coreCounters);
+        }
+    }
+}
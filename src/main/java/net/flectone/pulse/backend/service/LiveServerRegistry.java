@@ -0,0 +1,350 @@
+package net.flectone.pulse.backend.service;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.CountUnit;
+import net.flectone.pulse.backend.model.MetricsDimension;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class LiveServerRegistry {
+
+    private static final MetricsDimension[] DIMENSIONS = MetricsDimension.values();
+    private static final int ATTRIBUTES = DIMENSIONS.length;
+    private static final int MAX_MODULES = Long.SIZE;
+    private static final int MIN_CAPACITY = 64;
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final MetricsService metricsService;
+    private final MetricsAggregator metricsAggregator;
+    private final PulseProperties.Registry registryProperties;
+    private final HashFunction fingerprintFunction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Dictionary[] dictionaries = new Dictionary[ATTRIBUTES];
+    private final Dictionary moduleNames = new Dictionary(MAX_MODULES);
+    private final long baseEpochSecond = Instant.now().getEpochSecond();
+
+    private long[] keys;
+    private int[] lastSeen;
+    private int[] players;
+    private short[] attributes;
+    private long[] modulesPresent;
+    private long[] modulesEnabled;
+    private int size;
+
+    public LiveServerRegistry(MetricsService metricsService,
+                              MetricsAggregator metricsAggregator,
+                              PulseProperties pulseProperties,
+                              MeterRegistry meterRegistry) {
+        this.metricsService = metricsService;
+        this.metricsAggregator = metricsAggregator;
+        this.registryProperties = pulseProperties.getRegistry();
+        this.fingerprintFunction = Hashing.hmacSha256(registryProperties.getFingerprintSecret().getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < ATTRIBUTES; i++) {
+            dictionaries[i] = new Dictionary(Short.MAX_VALUE);
+        }
+
+        allocate(tableSize(registryProperties.getInitialCapacity()));
+
+        meterRegistry.gauge("pulse.registry.size", this, LiveServerRegistry::size);
+        meterRegistry.gauge("pulse.registry.capacity", this, registry -> registry.keys.length);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!registryProperties.isEnabled()) return;
+
+        long ttlMinutes = registryProperties.getTtl().toMinutes();
+        List<MetricsDTO> metrics = metricsService.getMetrics((int) ttlMinutes, ChronoUnit.MINUTES);
+        metrics.stream()
+                .filter(metricsDTO -> metricsDTO.getServerId() != null && !metricsDTO.getServerId().isBlank())
+                .forEach(metricsDTO -> record(
+                        fingerprint(metricsDTO.getServerId()),
+                        metricsDTO,
+                        metricsDTO.getCreatedAt() == null ? Instant.now() : metricsDTO.getCreatedAt()
+                ));
+
+        log.info("Restored {} live servers from {} recent reports", size(), metrics.size());
+    }
+
+    public boolean isEnabled() {
+        return registryProperties.isEnabled();
+    }
+
+    public long fingerprint(String ip, MetricsDTO metricsDTO) {
+        String source = String.join("|",
+                String.valueOf(ip),
+                String.valueOf(metricsDTO.getServerCore()),
+                String.valueOf(metricsDTO.getOsName()),
+                String.valueOf(metricsDTO.getOsArchitecture()),
+                String.valueOf(metricsDTO.getCpuCores()),
+                String.valueOf(metricsDTO.getTotalRAM())
+        );
+
+        long fingerprint = fingerprintFunction.hashString(source, StandardCharsets.UTF_8).asLong();
+        return fingerprint == EMPTY ? 1L : fingerprint;
+    }
+
+    public static long fingerprint(String serverId) {
+        long fingerprint = Hashing.farmHashFingerprint64().hashString(String.valueOf(serverId), StandardCharsets.UTF_8).asLong();
+        return fingerprint == EMPTY ? 1L : fingerprint;
+    }
+
+    public void record(long fingerprint, MetricsDTO metricsDTO, Instant reportedAt) {
+        if (!registryProperties.isEnabled()) return;
+
+        int seen = (int) (reportedAt.getEpochSecond() - baseEpochSecond);
+
+        lock.writeLock().lock();
+        try {
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                rehash(keys.length * 2, Integer.MIN_VALUE);
+            }
+
+            int index = findSlot(keys, fingerprint);
+            if (keys[index] == EMPTY) {
+                keys[index] = fingerprint;
+                size++;
+            } else if (lastSeen[index] > seen) {
+                return;
+            }
+
+            lastSeen[index] = seen;
+            players[index] = metricsDTO.getPlayerCount();
+
+            int offset = index * ATTRIBUTES;
+            for (int i = 0; i < ATTRIBUTES; i++) {
+                attributes[offset + i] = (short) dictionaries[i].encode(DIMENSIONS[i].classify(metricsDTO));
+            }
+
+            long present = 0;
+            long enabled = 0;
+            if (metricsDTO.getModules() != null) {
+                for (Map.Entry<String, String> module : metricsDTO.getModules().entrySet()) {
+                    int code = moduleNames.encode(module.getKey());
+                    if (code == Dictionary.OVERFLOW) continue;
+
+                    present |= 1L << code;
+                    if ("true".equals(module.getValue())) {
+                        enabled |= 1L << code;
+                    }
+                }
+            }
+
+            modulesPresent[index] = present;
+            modulesEnabled[index] = enabled;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pulse.registry.sweep-interval}")
+    public void evictExpired() {
+        int cutoff = (int) (Instant.now().minus(registryProperties.getTtl()).getEpochSecond() - baseEpochSecond);
+
+        lock.writeLock().lock();
+        try {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && lastSeen[i] >= cutoff) {
+                    live++;
+                }
+            }
+
+            if (live != size) {
+                rehash(tableSize(Math.max(live, registryProperties.getInitialCapacity())), cutoff);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public MetricsSnapshot snapshot(Instant hour) {
+        int cutoff = (int) (Instant.now().minus(registryProperties.getTtl()).getEpochSecond() - baseEpochSecond);
+
+        long total = 0;
+        long[][] counts = new long[ATTRIBUTES][];
+        long[] corePlayers;
+        long[] moduleCounts = new long[MAX_MODULES];
+        long moduleSeen = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < ATTRIBUTES; i++) {
+                counts[i] = new long[dictionaries[i].size() + 1];
+            }
+
+            int coreAttribute = MetricsDimension.SERVER_CORE.ordinal();
+            corePlayers = new long[counts[coreAttribute].length];
+
+            for (int index = 0; index < keys.length; index++) {
+                if (keys[index] == EMPTY || lastSeen[index] < cutoff) continue;
+
+                total++;
+
+                int offset = index * ATTRIBUTES;
+                for (int i = 0; i < ATTRIBUTES; i++) {
+                    counts[i][attributes[offset + i]]++;
+                }
+
+                corePlayers[attributes[offset + coreAttribute]] += players[index];
+
+                long present = modulesPresent[index];
+                moduleSeen |= present;
+                for (long bits = modulesEnabled[index]; bits != 0; bits &= bits - 1) {
+                    moduleCounts[Long.numberOfTrailingZeros(bits)]++;
+                }
+            }
+
+            Map<MetricsDimension, Map<String, Long>> distributions = new EnumMap<>(MetricsDimension.class);
+            for (int i = 0; i < ATTRIBUTES; i++) {
+                distributions.put(DIMENSIONS[i], dictionaries[i].decode(counts[i]));
+            }
+
+            Map<String, long[]> serverTypes = new HashMap<>();
+            long[] coreCounts = counts[coreAttribute];
+            for (int code = 0; code < coreCounts.length; code++) {
+                if (coreCounts[code] == 0) continue;
+
+                serverTypes.put(dictionaries[coreAttribute].value(code), new long[]{corePlayers[code], coreCounts[code]});
+            }
+
+            Map<String, Long> modules = new HashMap<>();
+            for (long bits = moduleSeen; bits != 0; bits &= bits - 1) {
+                int code = Long.numberOfTrailingZeros(bits);
+                modules.put(moduleNames.value(code), moduleCounts[code]);
+            }
+
+            return metricsAggregator.toSnapshot(hour, ChartWindow.HOUR, total, CountUnit.SERVERS, distributions, serverTypes, modules);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rehash(int capacity, int cutoff) {
+        long[] oldKeys = keys;
+        int[] oldLastSeen = lastSeen;
+        int[] oldPlayers = players;
+        short[] oldAttributes = attributes;
+        long[] oldModulesPresent = modulesPresent;
+        long[] oldModulesEnabled = modulesEnabled;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY || oldLastSeen[i] < cutoff) continue;
+
+            int index = findSlot(keys, oldKeys[i]);
+            keys[index] = oldKeys[i];
+            lastSeen[index] = oldLastSeen[i];
+            players[index] = oldPlayers[i];
+            System.arraycopy(oldAttributes, i * ATTRIBUTES, attributes, index * ATTRIBUTES, ATTRIBUTES);
+            modulesPresent[index] = oldModulesPresent[i];
+            modulesEnabled[index] = oldModulesEnabled[i];
+            size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        lastSeen = new int[capacity];
+        players = new int[capacity];
+        attributes = new short[capacity * ATTRIBUTES];
+        modulesPresent = new long[capacity];
+        modulesEnabled = new long[capacity];
+        size = 0;
+    }
+
+    private static int findSlot(long[] keys, long fingerprint) {
+        int mask = keys.length - 1;
+        int index = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+
+        while (keys[index] != EMPTY && keys[index] != fingerprint) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private static int tableSize(int entries) {
+        int capacity = Integer.highestOneBit((int) Math.ceil(Math.max(MIN_CAPACITY, entries) / LOAD_FACTOR));
+        return capacity < entries / LOAD_FACTOR ? capacity << 1 : capacity;
+    }
+
+    private static class Dictionary {
+
+        private static final int OVERFLOW = 0;
+        private static final String OVERFLOW_VALUE = MetricsSnapshot.OTHER;
+
+        private final int maxSize;
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(OVERFLOW_VALUE));
+
+        private Dictionary(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private int encode(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+
+            if (values.size() >= maxSize) {
+                return OVERFLOW;
+            }
+
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+            return code;
+        }
+
+        private String value(int code) {
+            return values.get(code);
+        }
+
+        private int size() {
+            return values.size();
+        }
+
+        private Map<String, Long> decode(long[] counts) {
+            Map<String, Long> decoded = new HashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    decoded.put(values.get(code), counts[code]);
+                }
+            }
+
+            return decoded;
+        }
+    }
+}
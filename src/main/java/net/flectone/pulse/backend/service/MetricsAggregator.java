@@ -0,0 +1,229 @@
+package net.flectone.pulse.backend.service;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.CountUnit;
+import net.flectone.pulse.backend.model.MetricsDimension;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.TimeSeriesSnapshot;
+import net.flectone.pulse.backend.util.SpaceSavingSketch;
+import net.flectone.pulse.backend.util.VersionRegistry;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Component
+public class MetricsAggregator {
+
+    private final VersionRegistry versionRegistry;
+    private final int topK;
+    private final int sketchCapacity;
+
+    public MetricsAggregator(PulseProperties pulseProperties, VersionRegistry versionRegistry) {
+        this.versionRegistry = versionRegistry;
+        this.topK = pulseProperties.getChart().getTopK();
+        this.sketchCapacity = Math.max(topK, pulseProperties.getChart().getSketchCapacity());
+    }
+
+    public MetricsSnapshot aggregate(List<MetricsDTO> metrics, Instant hour, ChartWindow window) {
+        Map<MetricsDimension, SpaceSavingSketch> sketches = new EnumMap<>(MetricsDimension.class);
+        for (MetricsDimension dimension : MetricsDimension.values()) {
+            sketches.put(dimension, new SpaceSavingSketch(sketchCapacity));
+        }
+
+        SpaceSavingSketch moduleSketch = new SpaceSavingSketch(sketchCapacity);
+
+        for (MetricsDTO metricsDTO : metrics) {
+            sketches.forEach((dimension, sketch) -> sketch.offer(dimension.classify(metricsDTO), 1L));
+
+            if (metricsDTO.getModules() != null) {
+                metricsDTO.getModules().keySet().forEach(module -> moduleSketch.offer(module, 1L));
+            }
+        }
+
+        Map<MetricsDimension, Map<String, Long>> counts = new EnumMap<>(MetricsDimension.class);
+        sketches.forEach((dimension, sketch) -> {
+            Map<String, Long> exactCounts = new HashMap<>();
+            sketch.counts().keySet().forEach(key -> exactCounts.put(key, 0L));
+            counts.put(dimension, exactCounts);
+        });
+
+        Set<String> serverCores = sketches.get(MetricsDimension.SERVER_CORE).counts().keySet();
+        Set<String> trackedModules = moduleSketch.counts().keySet();
+
+        Map<String, long[]> serverTypes = new HashMap<>();
+        Map<String, Long> modules = new HashMap<>();
+
+        for (MetricsDTO metricsDTO : metrics) {
+            counts.forEach((dimension, exactCounts) -> {
+                String key = dimension.classify(metricsDTO);
+                exactCounts.merge(exactCounts.containsKey(key) ? key : MetricsSnapshot.OTHER, 1L, Long::sum);
+            });
+
+            String serverCore = String.valueOf(metricsDTO.getServerCore());
+            long[] serverType = serverTypes.computeIfAbsent(serverCores.contains(serverCore) ? serverCore : MetricsSnapshot.OTHER, k -> new long[2]);
+            serverType[0] += metricsDTO.getPlayerCount();
+            serverType[1]++;
+
+            if (metricsDTO.getModules() == null) continue;
+
+            boolean untracked = false;
+            boolean untrackedEnabled = false;
+            for (Map.Entry<String, String> module : metricsDTO.getModules().entrySet()) {
+                boolean enabled = "true".equals(module.getValue());
+                if (trackedModules.contains(module.getKey())) {
+                    modules.merge(module.getKey(), enabled ? 1L : 0L, Long::sum);
+                } else {
+                    untracked = true;
+                    untrackedEnabled |= enabled;
+                }
+            }
+
+            if (untracked) {
+                modules.merge(MetricsSnapshot.OTHER, untrackedEnabled ? 1L : 0L, Long::sum);
+            }
+        }
+
+        return toSnapshot(hour, window, metrics.size(), CountUnit.REPORTS, counts, serverTypes, modules);
+    }
+
+    public MetricsSnapshot toSnapshot(Instant hour,
+                                      ChartWindow window,
+                                      long total,
+                                      CountUnit unit,
+                                      Map<MetricsDimension, Map<String, Long>> counts,
+                                      Map<String, long[]> serverTypes,
+                                      Map<String, Long> modules) {
+        Map<MetricsDimension, Map<String, Long>> distributions = new EnumMap<>(MetricsDimension.class);
+        counts.forEach((dimension, values) -> distributions.put(dimension, fold(
+                values,
+                dimension.getSorter(versionRegistry),
+                MetricsDimension.VERSIONED.contains(dimension) ? sketchCapacity : topK
+        )));
+
+        Set<String> keptTypes = serverTypes.entrySet().stream()
+                .filter(e -> !MetricsSnapshot.OTHER.equals(e.getKey()))
+                .sorted(Comparator.<Map.Entry<String, long[]>>comparingLong(e -> e.getValue()[1]).reversed())
+                .limit(topK)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        Map<String, Pair<Long, Long>> types = new HashMap<>();
+        long[] otherType = new long[2];
+        serverTypes.forEach((type, values) -> {
+            if (keptTypes.contains(type)) {
+                types.put(type, Pair.of(values[0], values[1]));
+            } else {
+                otherType[0] += values[0];
+                otherType[1] += values[1];
+            }
+        });
+
+        if (otherType[1] > 0) {
+            types.put(MetricsSnapshot.OTHER, Pair.of(otherType[0], otherType[1]));
+        }
+
+        return new MetricsSnapshot(
+                hour,
+                window,
+                total,
+                unit,
+                distributions,
+                types,
+                modules
+        );
+    }
+
+    public TimeSeriesSnapshot aggregateTimeSeries(List<MetricsDTO> metrics, Instant currentHour, ChartWindow window) {
+        Map<Instant, long[]> activity = new HashMap<>();
+        for (MetricsDTO metricsDTO : metrics) {
+            long[] counts = activity.computeIfAbsent(metricsDTO.getCreatedAt().truncatedTo(ChronoUnit.HOURS), k -> new long[2]);
+            counts[0] += metricsDTO.getPlayerCount();
+            counts[1]++;
+        }
+
+        Map<Instant, Pair<Long, Long>> hourlyActivity = new HashMap<>();
+        activity.forEach((hour, counts) -> hourlyActivity.put(hour, Pair.of(counts[0], counts[1])));
+
+        return aggregateTimeSeries(hourlyActivity, currentHour, window);
+    }
+
+    public TimeSeriesSnapshot aggregateTimeSeries(Map<Instant, Pair<Long, Long>> hourlyActivity, Instant currentHour, ChartWindow window) {
+        int hoursToFetch = getTimeSeriesHours(currentHour, window);
+        Pair<Long, Long> empty = Pair.of(0L, 0L);
+
+        Map<Instant, Map<Integer, Long>> serversDayHour = new TreeMap<>();
+        Map<Instant, Map<Integer, Long>> playersDayHour = new TreeMap<>();
+
+        for (int i = 0; i < hoursToFetch; i++) {
+            Instant hour = currentHour.minus(hoursToFetch - 1 - i, ChronoUnit.HOURS);
+            Instant day = hour.truncatedTo(ChronoUnit.DAYS);
+            int hourOfDay = hour.atZone(ZoneOffset.UTC).getHour();
+
+            serversDayHour.computeIfAbsent(day, k -> new HashMap<>())
+                    .put(hourOfDay, hourlyActivity.getOrDefault(hour, empty).getSecond());
+            playersDayHour.computeIfAbsent(day, k -> new HashMap<>())
+                    .put(hourOfDay, hourlyActivity.getOrDefault(hour, empty).getFirst());
+        }
+
+        return new TimeSeriesSnapshot(
+                currentHour,
+                window,
+                new ArrayList<>(serversDayHour.keySet()),
+                playersDayHour,
+                serversDayHour,
+                currentHour.atZone(ZoneOffset.UTC).getHour()
+        );
+    }
+
+    public int getTimeSeriesHours(Instant currentHour, ChartWindow window) {
+        return (window.getDays() - 1) * 24 + currentHour.atZone(ZoneOffset.UTC).getHour() + 1;
+    }
+
+    private Map<String, Long> fold(Map<String, Long> values, Comparator<Map.Entry<String, Long>> sorter, int limit) {
+        Set<String> kept = topKeys(values, limit);
+
+        Map<String, Long> top = new HashMap<>();
+        long other = 0;
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if (kept.contains(entry.getKey())) {
+                top.put(entry.getKey(), entry.getValue());
+            } else {
+                other += entry.getValue();
+            }
+        }
+
+        Map<String, Long> sorted = sort(top, sorter);
+        if (other > 0) {
+            sorted.put(MetricsSnapshot.OTHER, other);
+        }
+
+        return sorted;
+    }
+
+    private Set<String> topKeys(Map<String, Long> values, int limit) {
+        return values.entrySet().stream()
+                .filter(e -> !MetricsSnapshot.OTHER.equals(e.getKey()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, Long> sort(Map<String, Long> values, Comparator<Map.Entry<String, Long>> sorter) {
+        return values.entrySet().stream()
+                .sorted(sorter)
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
+                        (a, b) -> a,
+                        LinkedHashMap::new
+                ));
+    }
+}
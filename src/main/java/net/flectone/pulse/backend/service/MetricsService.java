@@ -2,10 +2,15 @@ package net.flectone.pulse.backend.service;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.jfr.RepositoryFetchEvent;
+import net.flectone.pulse.backend.model.ServerActivity;
 import net.flectone.pulse.backend.model.ServerMetrics;
 import net.flectone.pulse.backend.repository.MetricsRepository;
+import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,17 +21,125 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 public class MetricsService {
 
     private final MetricsRepository metricsRepository;
+    private final IngestConcurrencyLimiter ingestConcurrencyLimiter;
     private final Gson gson;
+    private final Timer saveTimer;
+    private final Timer saveAllTimer;
+    private final DistributionSummary saveAllRows;
+    private final Timer findTimer;
+    private final DistributionSummary findRows;
+    private final Timer activityTimer;
+    private final DistributionSummary activityRows;
+
+    public MetricsService(MetricsRepository metricsRepository,
+                          IngestConcurrencyLimiter ingestConcurrencyLimiter,
+                          Gson gson,
+                          MeterRegistry meterRegistry) {
+        this.metricsRepository = metricsRepository;
+        this.ingestConcurrencyLimiter = ingestConcurrencyLimiter;
+        this.gson = gson;
+        this.saveTimer = meterRegistry.timer("pulse.repository.query", "query", "save");
+        this.saveAllTimer = meterRegistry.timer("pulse.repository.query", "query", "saveAll");
+        this.saveAllRows = meterRegistry.summary("pulse.repository.rows", "query", "saveAll");
+        this.findTimer = meterRegistry.timer("pulse.repository.query", "query", "findByCreatedAtAfter");
+        this.findRows = meterRegistry.summary("pulse.repository.rows", "query", "findByCreatedAtAfter");
+        this.activityTimer = meterRegistry.timer("pulse.repository.query", "query", "streamByCreatedAtAfter");
+        this.activityRows = meterRegistry.summary("pulse.repository.rows", "query", "streamByCreatedAtAfter");
+    }
 
     @Transactional
     public void saveMetrics(MetricsDTO requestDTO) {
+        ServerMetrics serverMetrics = convertToEntity(requestDTO);
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            metricsRepository.save(serverMetrics);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            saveTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            ingestConcurrencyLimiter.onSample(elapsed, failed);
+        }
+    }
+
+    @Transactional
+    public void saveAllMetrics(List<MetricsDTO> requestDTOs) {
+        List<ServerMetrics> serverMetrics = requestDTOs.stream()
+                .map(this::convertToEntity)
+                .toList();
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            metricsRepository.saveAll(serverMetrics);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            saveAllTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            ingestConcurrencyLimiter.onSample(elapsed / Math.max(1, serverMetrics.size()), failed);
+        }
+
+        saveAllRows.record(serverMetrics.size());
+    }
+
+    public List<MetricsDTO> getMetrics(int amount, ChronoUnit chronoUnit) {
+        Instant timestampFrom = Instant.now().minus(amount, chronoUnit);
+
+        RepositoryFetchEvent event = new RepositoryFetchEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        List<ServerMetrics> rows = metricsRepository.findByCreatedAtAfter(timestampFrom);
+
+        findTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        findRows.record(rows.size());
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.query = "findByCreatedAtAfter";
+            event.rowCount = rows.size();
+            event.commit();
+        }
+
+        return rows.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Instant, Pair<Long, Long>> getHourlyActivity(int hours) {
+        Instant timestampFrom = Instant.now().minus(hours, ChronoUnit.HOURS);
+
+        Map<Instant, long[]> activity = new HashMap<>();
+        long rows = 0;
+
+        long start = System.nanoTime();
+        try (Stream<ServerActivity> stream = metricsRepository.streamByCreatedAtAfter(timestampFrom)) {
+            for (ServerActivity serverActivity : (Iterable<ServerActivity>) stream::iterator) {
+                long[] counts = activity.computeIfAbsent(serverActivity.createdAt().truncatedTo(ChronoUnit.HOURS), k -> new long[2]);
+                counts[0] += serverActivity.playerCount();
+                counts[1]++;
+                rows++;
+            }
+        }
+
+        activityTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        activityRows.record(rows);
+
+        return activity.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> Pair.of(e.getValue()[0], e.getValue()[1])));
+    }
+
+    private ServerMetrics convertToEntity(MetricsDTO requestDTO) {
         ServerMetrics serverMetrics = new ServerMetrics();
         serverMetrics.setServerCore(requestDTO.getServerCore());
         serverMetrics.setServerVersion(requestDTO.getServerVersion());
@@ -45,15 +158,9 @@ public class MetricsService {
         serverMetrics.setPlayerCount(requestDTO.getPlayerCount());
         serverMetrics.setModules(gson.toJson(requestDTO.getModules()));
         serverMetrics.setCreatedAt(requestDTO.getCreatedAt());
+        serverMetrics.setServerId(requestDTO.getServerId());
 
-        metricsRepository.save(serverMetrics);
-    }
-
-    public List<MetricsDTO> getMetrics(int amount, ChronoUnit chronoUnit) {
-        Instant timestampFrom = Instant.now().minus(amount, chronoUnit);
-        return metricsRepository.findByCreatedAtAfter(timestampFrom).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return serverMetrics;
     }
 
     private MetricsDTO convertToResponse(ServerMetrics serverMetrics) {
@@ -74,7 +181,8 @@ public class MetricsService {
                 serverMetrics.getDatabaseMode(),
                 serverMetrics.getPlayerCount(),
                 gson.fromJson(serverMetrics.getModules(), new TypeToken<Map<String, String>>() {}.getType()),
-                serverMetrics.getCreatedAt()
+                serverMetrics.getCreatedAt(),
+                serverMetrics.getServerId()
         );
     }
 
@@ -0,0 +1,72 @@
+package net.flectone.pulse.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import net.flectone.pulse.backend.model.RateLimitCounter;
+import net.flectone.pulse.backend.repository.RateLimitCounterRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "pulse.rate-limit", name = "backend", havingValue = "mysql")
+public class MySqlRateLimitBackend implements RateLimitBackend {
+
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private static final String UPSERT_PREFIX = "insert into rate_limit_counter (id, window_start, hits) values ";
+    private static final String UPSERT_SUFFIX = " on duplicate key update " +
+            "hits = case when window_start <= ? then values(hits) else hits + values(hits) end, " +
+            "window_start = case when window_start <= ? then values(window_start) else window_start end";
+
+    private final RateLimitCounterRepository rateLimitCounterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Map<String, Window> exchange(Map<String, Window> deltas, Instant cutoff) {
+        List<Map.Entry<String, Window>> increments = deltas.entrySet().stream()
+                .filter(e -> e.getValue().hits() > 0)
+                .toList();
+
+        return transactionTemplate.execute(status -> {
+            for (int from = 0; from < increments.size(); from += UPSERT_BATCH_SIZE) {
+                upsert(increments.subList(from, Math.min(increments.size(), from + UPSERT_BATCH_SIZE)), cutoff);
+            }
+
+            Map<String, Window> totals = new HashMap<>();
+            for (RateLimitCounter counter : rateLimitCounterRepository.findAllById(deltas.keySet())) {
+                totals.put(counter.getId(), new Window(counter.getWindowStart(), counter.getHits()));
+            }
+
+            return totals;
+        });
+    }
+
+    @Override
+    public void deleteBefore(Instant cutoff) {
+        transactionTemplate.executeWithoutResult(status -> rateLimitCounterRepository.deleteWindowsBefore(cutoff));
+    }
+
+    private void upsert(List<Map.Entry<String, Window>> increments, Instant cutoff) {
+        StringJoiner rows = new StringJoiner(", ", UPSERT_PREFIX, UPSERT_SUFFIX);
+        List<Object> parameters = new ArrayList<>(increments.size() * 3 + 2);
+
+        for (Map.Entry<String, Window> increment : increments) {
+            rows.add("(?, ?, ?)");
+            parameters.add(increment.getKey());
+            parameters.add(Timestamp.from(increment.getValue().start()));
+            parameters.add(increment.getValue().hits());
+        }
+
+        parameters.add(Timestamp.from(cutoff));
+        parameters.add(Timestamp.from(cutoff));
+
+        jdbcTemplate.update(rows.toString(), parameters.toArray());
+    }
+}
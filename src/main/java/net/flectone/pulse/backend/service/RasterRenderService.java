@@ -0,0 +1,196 @@
+package net.flectone.pulse.backend.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PreDestroy;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.generator.SvgGenerator;
+import net.flectone.pulse.backend.model.SvgDimensions;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.*;
+
+@Service
+public class RasterRenderService {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore renders;
+    private final Cache<Long, BlockingQueue<BufferedImage>> imagePool;
+    private final int threads;
+    private final long maxPoolWeight;
+    private final Duration timeout;
+
+    public RasterRenderService(PulseProperties pulseProperties) {
+        PulseProperties.Raster raster = pulseProperties.getRaster();
+
+        this.threads = raster.getThreads();
+        this.timeout = raster.getTimeout();
+        this.maxPoolWeight = raster.getBufferPoolMaxWeight().toBytes();
+        this.renders = new Semaphore(threads + raster.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(raster.getQueueCapacity()),
+                new CustomizableThreadFactory("png-render-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.imagePool = CacheBuilder.newBuilder()
+                .maximumWeight(maxPoolWeight)
+                .weigher((Long key, BlockingQueue<BufferedImage> buffers) -> (int) Math.min(Integer.MAX_VALUE, getPoolWeight(key)))
+                .build();
+    }
+
+    public byte[] render(SvgGenerator generator) {
+        if (!renders.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many PNG renders in progress");
+        }
+
+        RenderTask task = new RenderTask(generator);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            renders.release();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many PNG renders in progress");
+        }
+
+        try {
+            return task.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(task);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "PNG render interrupted");
+        } catch (TimeoutException e) {
+            cancel(task);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "PNG render timed out");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("PNG render failed", e.getCause());
+        }
+    }
+
+    private void cancel(RenderTask task) {
+        if (executor.remove(task)) {
+            task.result.cancel(false);
+            renders.release();
+            return;
+        }
+
+        task.cancel();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private byte[] renderPng(SvgGenerator generator) {
+        SvgDimensions dimensions = generator.getDimensions();
+        BlockingQueue<BufferedImage> buffers = getBuffers(dimensions);
+
+        BufferedImage image = buffers.poll();
+        if (image == null) {
+            image = new BufferedImage(dimensions.width(), dimensions.height(), BufferedImage.TYPE_INT_ARGB);
+        }
+
+        try {
+            Graphics2D graphics = image.createGraphics();
+
+            try {
+                graphics.setComposite(AlphaComposite.Clear);
+                graphics.fillRect(0, 0, dimensions.width(), dimensions.height());
+                graphics.setComposite(AlphaComposite.SrcOver);
+
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+                generator.render(graphics);
+            } finally {
+                graphics.dispose();
+            }
+
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("PNG render was cancelled");
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffers.offer(image);
+        }
+    }
+
+    private BlockingQueue<BufferedImage> getBuffers(SvgDimensions dimensions) {
+        long key = ((long) dimensions.width() << 32) | dimensions.height();
+        if (getPoolWeight(key) > maxPoolWeight) {
+            return new ArrayBlockingQueue<>(1);
+        }
+
+        try {
+            return imagePool.get(key, () -> new ArrayBlockingQueue<>(threads));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private long getPoolWeight(long key) {
+        long width = key >>> 32;
+        long height = key & 0xFFFFFFFFL;
+        return width * height * Integer.BYTES * threads;
+    }
+
+    private final class RenderTask implements Runnable {
+
+        private final SvgGenerator generator;
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+        private Thread worker;
+
+        private RenderTask(SvgGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                worker = Thread.currentThread();
+            }
+
+            try {
+                if (!result.isDone()) {
+                    result.complete(renderPng(generator));
+                }
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                }
+
+                Thread.interrupted();
+                renders.release();
+            }
+        }
+
+        private synchronized void cancel() {
+            result.cancel(false);
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+    }
+}
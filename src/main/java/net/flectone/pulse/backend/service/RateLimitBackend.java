@@ -0,0 +1,14 @@
+package net.flectone.pulse.backend.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface RateLimitBackend {
+
+    Map<String, Window> exchange(Map<String, Window> deltas, Instant cutoff);
+
+    void deleteBefore(Instant cutoff);
+
+    record Window(Instant start, long hits) {}
+
+}
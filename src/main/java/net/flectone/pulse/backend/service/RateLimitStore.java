@@ -0,0 +1,117 @@
+package net.flectone.pulse.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.flectone.pulse.backend.config.PulseProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class RateLimitStore {
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final RateLimitBackend rateLimitBackend;
+    private final PulseProperties.RateLimit rateLimitProperties;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public RateLimitStore(RateLimitBackend rateLimitBackend, PulseProperties pulseProperties) {
+        this.rateLimitBackend = rateLimitBackend;
+        this.rateLimitProperties = pulseProperties.getRateLimit();
+    }
+
+    public boolean tryAcquire(String key) {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(rateLimitProperties.getWindow());
+
+        Entry entry = entries.compute(normalizeKey(key), (k, existing) ->
+                existing == null || !existing.windowStart.isAfter(cutoff) ? new Entry(now) : existing
+        );
+
+        while (true) {
+            long pending = entry.pending.get();
+            if (entry.global + pending >= rateLimitProperties.getLimit() || pending >= rateLimitProperties.getLocalBudget()) {
+                return false;
+            }
+
+            if (entry.pending.compareAndSet(pending, pending + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public Duration getRetryAfter(String key) {
+        Duration window = rateLimitProperties.getWindow();
+
+        Entry entry = entries.get(normalizeKey(key));
+        if (entry == null) return window;
+
+        Duration remaining = Duration.between(Instant.now(), entry.windowStart.plus(window));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${pulse.rate-limit.sync-interval}")
+    public void synchronize() {
+        Instant cutoff = Instant.now().minus(rateLimitProperties.getWindow());
+        entries.values().removeIf(entry -> !entry.windowStart.isAfter(cutoff));
+
+        Map<String, Entry> batch = new HashMap<>();
+        Map<String, RateLimitBackend.Window> deltas = new HashMap<>();
+        entries.forEach((key, entry) -> {
+            long pending = entry.pending.get();
+            if (pending == 0) return;
+
+            batch.put(key, entry);
+            deltas.put(key, new RateLimitBackend.Window(entry.windowStart, pending));
+        });
+
+        if (batch.isEmpty()) return;
+
+        try {
+            Map<String, RateLimitBackend.Window> totals = rateLimitBackend.exchange(deltas, cutoff);
+
+            batch.forEach((key, entry) -> {
+                RateLimitBackend.Window total = totals.get(key);
+                if (total != null) {
+                    entry.global = total.hits();
+                    entry.windowStart = total.start();
+                }
+
+                entry.pending.addAndGet(-deltas.get(key).hits());
+            });
+
+            rateLimitBackend.deleteBefore(cutoff);
+        } catch (DataAccessException e) {
+            log.warn("Failed to synchronize rate limit state", e);
+        }
+    }
+
+    private static String normalizeKey(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static class Entry {
+
+        private final AtomicLong pending = new AtomicLong();
+
+        private volatile Instant windowStart;
+        private volatile long global;
+
+        private Entry(Instant windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package net.flectone.pulse.backend.service;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+public class ReportScheduler {
+
+    private final IngestConcurrencyLimiter ingestConcurrencyLimiter;
+    private final PulseProperties.Schedule scheduleProperties;
+    private final PulseProperties.RateLimit rateLimitProperties;
+
+    public ReportScheduler(IngestConcurrencyLimiter ingestConcurrencyLimiter, PulseProperties pulseProperties) {
+        this.ingestConcurrencyLimiter = ingestConcurrencyLimiter;
+        this.scheduleProperties = pulseProperties.getSchedule();
+        this.rateLimitProperties = pulseProperties.getRateLimit();
+    }
+
+    public long nextReportIn(long fingerprint, Instant now) {
+        long period = scheduleProperties.getPeriod().toSeconds();
+        long slot = Math.floorMod(fingerprint, period);
+
+        long earliest = now.getEpochSecond() + rateLimitProperties.getWindow().toSeconds();
+        long next = earliest - Math.floorMod(earliest, period) + slot;
+        if (next < earliest) {
+            next += period;
+        }
+
+        double threshold = scheduleProperties.getLoadThreshold();
+        double utilization = ingestConcurrencyLimiter.getUtilization();
+        if (utilization > threshold) {
+            double pressure = Math.min(1.0, (utilization - threshold) / (1.0 - threshold));
+            long maxDeferral = scheduleProperties.getMaxDeferral().toSeconds();
+
+            next += (long) (Math.floorMod(Long.rotateLeft(fingerprint, 32), maxDeferral + 1) * pressure);
+        }
+
+        return next - now.getEpochSecond();
+    }
+}
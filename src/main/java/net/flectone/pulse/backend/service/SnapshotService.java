@@ -0,0 +1,105 @@
+package net.flectone.pulse.backend.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.TimeSeriesSnapshot;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class SnapshotService {
+
+    private final MetricsService metricsService;
+    private final MetricsAggregator metricsAggregator;
+    private final LiveServerRegistry liveServerRegistry;
+    private final PulseProperties pulseProperties;
+    private final Timer snapshotTimer;
+    private final Timer registrySnapshotTimer;
+    private final Timer timeSeriesTimer;
+
+    private final LoadingCache<SnapshotKey, MetricsSnapshot> snapshots = CacheBuilder.newBuilder()
+            .maximumSize(ChartWindow.values().length * 2L)
+            .build(CacheLoader.from(this::loadSnapshot));
+
+    private final LoadingCache<SnapshotKey, TimeSeriesSnapshot> timeSeries = CacheBuilder.newBuilder()
+            .maximumSize(ChartWindow.values().length * 2L)
+            .build(CacheLoader.from(this::loadTimeSeries));
+
+    private record SnapshotKey(ChartWindow window, Instant hour) {}
+
+    public SnapshotService(MetricsService metricsService,
+                           MetricsAggregator metricsAggregator,
+                           LiveServerRegistry liveServerRegistry,
+                           PulseProperties pulseProperties,
+                           MeterRegistry meterRegistry) {
+        this.metricsService = metricsService;
+        this.metricsAggregator = metricsAggregator;
+        this.liveServerRegistry = liveServerRegistry;
+        this.pulseProperties = pulseProperties;
+        this.snapshotTimer = meterRegistry.timer("pulse.aggregation", "type", "snapshot");
+        this.registrySnapshotTimer = meterRegistry.timer("pulse.aggregation", "type", "registry-snapshot");
+        this.timeSeriesTimer = meterRegistry.timer("pulse.aggregation", "type", "time-series");
+
+        meterRegistry.gauge("pulse.snapshot.cache.size", List.of(Tag.of("type", "snapshot")), snapshots, Cache::size);
+        meterRegistry.gauge("pulse.snapshot.cache.size", List.of(Tag.of("type", "time-series")), timeSeries, Cache::size);
+    }
+
+    public MetricsSnapshot getSnapshot(ChartWindow window) {
+        return snapshots.getUnchecked(new SnapshotKey(window, currentHour()));
+    }
+
+    public TimeSeriesSnapshot getTimeSeries(ChartWindow window) {
+        return timeSeries.getUnchecked(new SnapshotKey(window, currentHour()));
+    }
+
+    private MetricsSnapshot loadSnapshot(SnapshotKey key) {
+        if (key.window() == ChartWindow.HOUR
+                && liveServerRegistry.isEnabled()
+                && pulseProperties.getRegistry().isServeHourlySnapshot()) {
+            long start = System.nanoTime();
+            MetricsSnapshot snapshot = liveServerRegistry.snapshot(key.hour());
+            registrySnapshotTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            return snapshot;
+        }
+
+        List<MetricsDTO> metrics = metricsService.getMetrics(key.window().getHours(), ChronoUnit.HOURS);
+
+        long start = System.nanoTime();
+        MetricsSnapshot snapshot = metricsAggregator.aggregate(metrics, key.hour(), key.window());
+        snapshotTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return snapshot;
+    }
+
+    private TimeSeriesSnapshot loadTimeSeries(SnapshotKey key) {
+        int hoursToFetch = metricsAggregator.getTimeSeriesHours(key.hour(), key.window());
+
+        Map<Instant, Pair<Long, Long>> hourlyActivity = metricsService.getHourlyActivity(hoursToFetch);
+
+        long start = System.nanoTime();
+        TimeSeriesSnapshot snapshot = metricsAggregator.aggregateTimeSeries(hourlyActivity, key.hour(), key.window());
+        timeSeriesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return snapshot;
+    }
+
+    private Instant currentHour() {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS);
+    }
+}
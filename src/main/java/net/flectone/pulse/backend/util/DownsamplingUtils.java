@@ -0,0 +1,59 @@
+package net.flectone.pulse.backend.util;
+
+public class DownsamplingUtils {
+
+    public static int[] largestTriangleThreeBuckets(double[] xs, double[] ys, int length, int threshold) {
+        if (threshold < 3 || threshold >= length) {
+            int[] indices = new int[length];
+            for (int i = 0; i < length; i++) {
+                indices[i] = i;
+            }
+
+            return indices;
+        }
+
+        int[] sampled = new int[threshold];
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+
+        int a = 0;
+        int sampledIndex = 0;
+        sampled[sampledIndex++] = a;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int averageStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int averageEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = averageStart; i < averageEnd; i++) {
+                averageX += xs[i];
+                averageY += ys[i];
+            }
+
+            int averageLength = Math.max(1, averageEnd - averageStart);
+            averageX /= averageLength;
+            averageY /= averageLength;
+
+            int rangeStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int rangeEnd = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+            double maxArea = -1;
+            int next = rangeStart;
+
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                double area = Math.abs((xs[a] - averageX) * (ys[i] - ys[a]) - (xs[a] - xs[i]) * (averageY - ys[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+
+            sampled[sampledIndex++] = next;
+            a = next;
+        }
+
+        sampled[sampledIndex] = length - 1;
+        return sampled;
+    }
+
+}
@@ -1,6 +1,10 @@
 package net.flectone.pulse.backend.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.jfr.LocationLookupEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -9,11 +13,14 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class HttpUtils {
 
-    private final String IP_API_URL = "http://ip-api.com/line/<ip>?fields=country";
+    private final PulseProperties pulseProperties;
+    private final Timer lookupSuccessTimer;
+    private final Timer lookupFailureTimer;
 
     private final String[] IP_HEADER_CANDIDATES = {
             "X-Forwarded-For",
@@ -29,6 +36,12 @@ public class HttpUtils {
             "REMOTE_ADDR"
     };
 
+    public HttpUtils(PulseProperties pulseProperties, MeterRegistry meterRegistry) {
+        this.pulseProperties = pulseProperties;
+        this.lookupSuccessTimer = meterRegistry.timer("pulse.geo.lookup", "outcome", "success");
+        this.lookupFailureTimer = meterRegistry.timer("pulse.geo.lookup", "outcome", "failure");
+    }
+
     public String getClientIpAddressIfServletRequestExist() {
         if (RequestContextHolder.getRequestAttributes() == null) {
             return "0.0.0.0";
@@ -50,13 +63,30 @@ public class HttpUtils {
     }
 
     private String getClientLocationFromIp(String ip) {
-        String url = IP_API_URL.replace("<ip>", ip);
+        String url = pulseProperties.getGeo().getUrl().replace("<ip>", ip);
+        LocationLookupEvent event = new LocationLookupEvent();
+        event.begin();
+        long start = System.nanoTime();
 
         try (BufferedReader reader = new BufferedReader(new InputStreamReader((new URL(url)).openStream()))){
-            return reader.readLine();
+            String location = reader.readLine();
+            lookupSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commitLookupEvent(event, location, true);
+            return location;
 
         } catch (IOException ignored) {}
 
+        lookupFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        commitLookupEvent(event, "Unknown", false);
         return "Unknown";
     }
+
+    private void commitLookupEvent(LocationLookupEvent event, String location, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.location = location;
+            event.success = success;
+            event.commit();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package net.flectone.pulse.backend.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+
+    private int size;
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public void offer(String key, long weight) {
+        total += weight;
+
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter(key, size);
+                counter.count = weight;
+                heap[size++] = counter;
+                counters.put(key, counter);
+                siftUp(counter.index);
+                return;
+            }
+
+            counter = heap[0];
+            counters.remove(counter.key);
+            counter.key = key;
+            counters.put(key, counter);
+        }
+
+        counter.count += weight;
+        siftDown(counter.index);
+    }
+
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            counts.put(heap[i].key, heap[i].count);
+        }
+
+        return counts;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) break;
+
+            move(heap[parent], index);
+            index = parent;
+        }
+
+        move(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+
+            if (counter.count <= heap[child].count) break;
+
+            move(heap[child], index);
+            index = child;
+        }
+
+        move(counter, index);
+    }
+
+    private void move(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    private static class Counter {
+
+        private String key;
+        private long count;
+        private int index;
+
+        private Counter(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package net.flectone.pulse.backend.util;
+
+import org.apache.batik.svggen.SVGCSSStyler;
+import org.w3c.dom.*;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class SvgOptimizer {
+
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    private static final String XLINK_NAMESPACE = "http://www.w3.org/1999/xlink";
+    private static final String XMLNS_NAMESPACE = "http://www.w3.org/2000/xmlns/";
+
+    private static final int MAX_PRECISION = 6;
+    private static final int MIN_SHARED_PATH_LENGTH = 64;
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("-?(?:\\d+\\.\\d*|\\.\\d+)(?:[eE][-+]?\\d+)?");
+    private static final Pattern PATH_TOKEN_PATTERN = Pattern.compile("[MLCQZmlcqz]|-?(?:\\d+\\.?\\d*|\\.\\d+)");
+    private static final Pattern RGB_PATTERN = Pattern.compile("rgb\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*\\)");
+
+    private static final Set<String> GEOMETRY_ATTRIBUTES = Set.of(
+            "d", "points", "x", "y", "x1", "y1", "x2", "y2",
+            "cx", "cy", "r", "rx", "ry", "fx", "fy", "width", "height"
+    );
+
+    private static final Set<String> INHERITED_PROPERTIES = Set.of(
+            "fill", "fill-opacity", "fill-rule",
+            "stroke", "stroke-width", "stroke-opacity", "stroke-linecap", "stroke-linejoin",
+            "stroke-miterlimit", "stroke-dasharray", "stroke-dashoffset",
+            "font-family", "font-size", "font-style", "font-weight", "font-variant", "font-stretch",
+            "text-anchor", "text-rendering", "shape-rendering", "color-rendering", "color-interpolation",
+            "image-rendering", "letter-spacing", "word-spacing", "visibility", "clip-rule", "color"
+    );
+
+    public static void optimize(Element root, int precision) {
+        SVGCSSStyler.style(root);
+
+        simplify(root, Math.min(precision, MAX_PRECISION), Map.of());
+        foldStyles(root);
+        sharePaths(root);
+    }
+
+    public static String serialize(Element root) {
+        root.setAttributeNS(XMLNS_NAMESPACE, "xmlns", SVG_NAMESPACE);
+        root.setAttributeNS(XMLNS_NAMESPACE, "xmlns:xlink", XLINK_NAMESPACE);
+
+        StringBuilder builder = new StringBuilder(16 * 1024);
+        writeElement(root, builder);
+        return builder.toString();
+    }
+
+    private static void simplify(Element element, int precision, Map<String, String> inherited) {
+        Map<String, String> effective = inherited;
+
+        if (element.hasAttribute("style")) {
+            Map<String, String> declarations = parseStyle(element.getAttribute("style"));
+            declarations.entrySet().removeIf(e ->
+                    INHERITED_PROPERTIES.contains(e.getKey()) && e.getValue().equals(inherited.get(e.getKey()))
+            );
+
+            if (declarations.isEmpty()) {
+                element.removeAttribute("style");
+            } else {
+                element.setAttribute("style", formatStyle(declarations));
+
+                effective = new HashMap<>(inherited);
+                for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+                    if (INHERITED_PROPERTIES.contains(declaration.getKey())) {
+                        effective.put(declaration.getKey(), declaration.getValue());
+                    }
+                }
+            }
+        }
+
+        for (String attribute : GEOMETRY_ATTRIBUTES) {
+            if (element.hasAttribute(attribute)) {
+                element.setAttribute(attribute, roundNumbers(element.getAttribute(attribute), precision));
+            }
+        }
+
+        if (element.hasAttribute("d")) {
+            element.setAttribute("d", toRelativePath(element.getAttribute("d"), Math.max(0, precision)));
+        }
+
+        Node child = element.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+
+            if (child instanceof Comment) {
+                element.removeChild(child);
+            } else if (child instanceof Element childElement) {
+                simplify(childElement, precision, effective);
+
+                String tagName = childElement.getLocalName() == null ? childElement.getTagName() : childElement.getLocalName();
+                boolean container = "g".equals(tagName) || "defs".equals(tagName);
+
+                if (container && !childElement.hasChildNodes()) {
+                    element.removeChild(childElement);
+                } else if ("g".equals(tagName) && !childElement.hasAttributes()) {
+                    while (childElement.getFirstChild() != null) {
+                        element.insertBefore(childElement.getFirstChild(), childElement);
+                    }
+
+                    element.removeChild(childElement);
+                }
+            }
+
+            child = next;
+        }
+    }
+
+    private static void foldStyles(Element root) {
+        Map<String, List<Element>> elementsByStyle = new HashMap<>();
+        collectStyles(root, elementsByStyle, true);
+
+        List<Map.Entry<String, List<Element>>> repeated = elementsByStyle.entrySet().stream()
+                .filter(e -> e.getValue().size() > 1)
+                .sorted(Comparator.<Map.Entry<String, List<Element>>>comparingInt(e -> e.getValue().size()).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .toList();
+
+        if (repeated.isEmpty()) {
+            return;
+        }
+
+        StringBuilder css = new StringBuilder();
+        for (int i = 0; i < repeated.size(); i++) {
+            String className = createClassName(i);
+            Map.Entry<String, List<Element>> entry = repeated.get(i);
+
+            css.append('.').append(className).append('{').append(entry.getKey()).append('}');
+
+            for (Element element : entry.getValue()) {
+                element.removeAttribute("style");
+                element.setAttribute("class", className);
+            }
+        }
+
+        Element style = root.getOwnerDocument().createElementNS(SVG_NAMESPACE, "style");
+        style.appendChild(root.getOwnerDocument().createTextNode(css.toString()));
+        root.insertBefore(style, root.getFirstChild());
+    }
+
+    private static void sharePaths(Element root) {
+        Map<String, List<Element>> pathsByData = new LinkedHashMap<>();
+        Set<String> ids = new HashSet<>();
+        collectPaths(root, pathsByData, ids);
+
+        Document document = root.getOwnerDocument();
+        Element defs = null;
+        int index = 0;
+
+        for (Map.Entry<String, List<Element>> entry : pathsByData.entrySet()) {
+            List<Element> paths = entry.getValue();
+            if (paths.size() < 2 || entry.getKey().length() < MIN_SHARED_PATH_LENGTH) continue;
+
+            String id;
+            do {
+                id = "p" + createClassName(index++);
+            } while (ids.contains(id));
+
+            if (defs == null) {
+                defs = document.createElementNS(SVG_NAMESPACE, "defs");
+                root.insertBefore(defs, root.getFirstChild());
+            }
+
+            Element shared = document.createElementNS(SVG_NAMESPACE, "path");
+            shared.setAttribute("id", id);
+            shared.setAttribute("d", entry.getKey());
+            defs.appendChild(shared);
+
+            for (Element path : paths) {
+                Element use = document.createElementNS(SVG_NAMESPACE, "use");
+                use.setAttributeNS(XLINK_NAMESPACE, "xlink:href", "#" + id);
+
+                NamedNodeMap attributes = path.getAttributes();
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    Attr attribute = (Attr) attributes.item(i);
+                    if (!"d".equals(attribute.getName())) {
+                        use.setAttribute(attribute.getName(), attribute.getValue());
+                    }
+                }
+
+                path.getParentNode().replaceChild(use, path);
+            }
+        }
+    }
+
+    private static void collectPaths(Element element, Map<String, List<Element>> pathsByData, Set<String> ids) {
+        if (element.hasAttribute("id")) {
+            ids.add(element.getAttribute("id"));
+        }
+
+        String tagName = element.getLocalName() == null ? element.getTagName() : element.getLocalName();
+        if ("path".equals(tagName) && element.hasAttribute("d") && !element.hasAttribute("id")) {
+            pathsByData.computeIfAbsent(element.getAttribute("d"), k -> new ArrayList<>()).add(element);
+        }
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element childElement) {
+                collectPaths(childElement, pathsByData, ids);
+            }
+        }
+    }
+
+    private static void collectStyles(Element element, Map<String, List<Element>> elementsByStyle, boolean root) {
+        if (!root && element.hasAttribute("style") && !element.hasAttribute("class")) {
+            elementsByStyle.computeIfAbsent(element.getAttribute("style"), k -> new ArrayList<>()).add(element);
+        }
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element childElement) {
+                collectStyles(childElement, elementsByStyle, false);
+            }
+        }
+    }
+
+    private static String createClassName(int index) {
+        StringBuilder name = new StringBuilder();
+
+        int value = index;
+        do {
+            name.insert(0, (char) ('a' + value % 26));
+            value = value / 26 - 1;
+        } while (value >= 0);
+
+        return name.toString();
+    }
+
+    private static Map<String, String> parseStyle(String style) {
+        Map<String, String> declarations = new LinkedHashMap<>();
+
+        for (String declaration : style.split(";")) {
+            int separator = declaration.indexOf(':');
+            if (separator <= 0) continue;
+
+            String property = declaration.substring(0, separator).trim();
+            String value = shortenColors(declaration.substring(separator + 1).trim());
+            if (!property.isEmpty() && !value.isEmpty()) {
+                declarations.put(property, value);
+            }
+        }
+
+        return declarations;
+    }
+
+    private static String formatStyle(Map<String, String> declarations) {
+        StringJoiner joiner = new StringJoiner(";");
+        declarations.forEach((property, value) -> joiner.add(property + ":" + value));
+        return joiner.toString();
+    }
+
+    private static String shortenColors(String value) {
+        Matcher matcher = RGB_PATTERN.matcher(value);
+        if (!matcher.find()) {
+            return value;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        do {
+            int red = Math.min(255, Integer.parseInt(matcher.group(1)));
+            int green = Math.min(255, Integer.parseInt(matcher.group(2)));
+            int blue = Math.min(255, Integer.parseInt(matcher.group(3)));
+
+            String hex = String.format("%02x%02x%02x", red, green, blue);
+            if (hex.charAt(0) == hex.charAt(1) && hex.charAt(2) == hex.charAt(3) && hex.charAt(4) == hex.charAt(5)) {
+                hex = "" + hex.charAt(0) + hex.charAt(2) + hex.charAt(4);
+            }
+
+            matcher.appendReplacement(builder, "#" + hex);
+        } while (matcher.find());
+
+        matcher.appendTail(builder);
+        return builder.toString();
+    }
+
+    private static String roundNumbers(String value, int precision) {
+        if (precision < 0) {
+            return value;
+        }
+
+        Matcher matcher = NUMBER_PATTERN.matcher(value);
+        if (!matcher.find()) {
+            return value;
+        }
+
+        StringBuilder builder = new StringBuilder(value.length());
+        do {
+            matcher.appendReplacement(builder, formatNumber(Double.parseDouble(matcher.group()), precision));
+        } while (matcher.find());
+
+        matcher.appendTail(builder);
+        return builder.toString();
+    }
+
+    private static String toRelativePath(String data, int precision) {
+        long factor = 1;
+        for (int i = 0; i < precision; i++) {
+            factor *= 10;
+        }
+
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = PATH_TOKEN_PATTERN.matcher(data);
+        int end = 0;
+        while (matcher.find()) {
+            if (!data.substring(end, matcher.start()).isBlank() && !data.substring(end, matcher.start()).trim().equals(",")) {
+                return data;
+            }
+
+            tokens.add(matcher.group());
+            end = matcher.end();
+        }
+
+        if (!data.substring(end).isBlank()) {
+            return data;
+        }
+
+        StringBuilder builder = new StringBuilder(data.length());
+        long x = 0;
+        long y = 0;
+        long startX = 0;
+        long startY = 0;
+        char previousCommand = 0;
+        String previousNumber = null;
+
+        int index = 0;
+        while (index < tokens.size()) {
+            String token = tokens.get(index++);
+            char command = token.charAt(0);
+            if (!Character.isLetter(command)) {
+                return data;
+            }
+
+            boolean relative = Character.isLowerCase(command);
+            char upper = Character.toUpperCase(command);
+
+            if (upper == 'Z') {
+                builder.append('z');
+                previousCommand = 'z';
+                previousNumber = null;
+                x = startX;
+                y = startY;
+                continue;
+            }
+
+            int pairs = switch (upper) {
+                case 'C' -> 3;
+                case 'Q' -> 2;
+                default -> 1;
+            };
+
+            do {
+                if (index + pairs * 2 > tokens.size()) {
+                    return data;
+                }
+
+                char output = Character.toLowerCase(upper);
+                if (upper == 'M' || output != previousCommand) {
+                    builder.append(output);
+                    previousNumber = null;
+                }
+
+                long baseX = x;
+                long baseY = y;
+                for (int pair = 0; pair < pairs; pair++) {
+                    String first = tokens.get(index++);
+                    String second = tokens.get(index++);
+                    if (Character.isLetter(first.charAt(0)) || Character.isLetter(second.charAt(0))) {
+                        return data;
+                    }
+
+                    long pointX = Math.round(Double.parseDouble(first) * factor) + (relative ? baseX : 0);
+                    long pointY = Math.round(Double.parseDouble(second) * factor) + (relative ? baseY : 0);
+
+                    previousNumber = appendNumber(builder, previousNumber, pointX - baseX, factor, precision);
+                    previousNumber = appendNumber(builder, previousNumber, pointY - baseY, factor, precision);
+
+                    if (pair == pairs - 1) {
+                        x = pointX;
+                        y = pointY;
+                    }
+                }
+
+                if (upper == 'M') {
+                    startX = x;
+                    startY = y;
+                    previousCommand = 'm';
+                    upper = 'L';
+                    pairs = 1;
+                } else {
+                    previousCommand = output;
+                }
+            } while (index < tokens.size() && !Character.isLetter(tokens.get(index).charAt(0)));
+        }
+
+        return builder.toString();
+    }
+
+    private static String appendNumber(StringBuilder builder, String previous, long scaled, long factor, int precision) {
+        String number = formatNumber((double) scaled / factor, precision);
+
+        if (previous != null && !number.startsWith("-") && !(number.startsWith(".") && previous.contains("."))) {
+            builder.append(' ');
+        }
+
+        builder.append(number);
+        return number;
+    }
+
+    private static String formatNumber(double value, int precision) {
+        long factor = 1;
+        for (int i = 0; i < precision; i++) {
+            factor *= 10;
+        }
+
+        long scaled = Math.round(value * factor);
+        if (scaled == 0) {
+            return "0";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        if (scaled < 0) {
+            builder.append('-');
+            scaled = -scaled;
+        }
+
+        long integer = scaled / factor;
+        long fraction = scaled % factor;
+
+        if (integer != 0 || fraction == 0) {
+            builder.append(integer);
+        }
+
+        if (fraction != 0) {
+            String digits = String.valueOf(fraction);
+            builder.append('.');
+
+            for (int i = digits.length(); i < precision; i++) {
+                builder.append('0');
+            }
+
+            int end = digits.length();
+            while (digits.charAt(end - 1) == '0') {
+                end--;
+            }
+
+            builder.append(digits, 0, end);
+        }
+
+        return builder.toString();
+    }
+
+    private static void writeElement(Element element, StringBuilder builder) {
+        builder.append('<').append(element.getTagName());
+
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+
+            builder.append(' ').append(attribute.getName()).append("=\"");
+            escape(attribute.getValue(), builder, true);
+            builder.append('"');
+        }
+
+        if (!element.hasChildNodes()) {
+            builder.append("/>");
+            return;
+        }
+
+        builder.append('>');
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element childElement) {
+                writeElement(childElement, builder);
+            } else if (child instanceof Text text) {
+                escape(text.getData(), builder, false);
+            }
+        }
+
+        builder.append("</").append(element.getTagName()).append('>');
+    }
+
+    private static void escape(String value, StringBuilder builder, boolean attribute) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '&' -> builder.append("&amp;");
+                case '<' -> builder.append("&lt;");
+                case '>' -> builder.append("&gt;");
+                case '"' -> builder.append(attribute ? "&quot;" : "\"");
+                default -> builder.append(c);
+            }
+        }
+    }
+
+}
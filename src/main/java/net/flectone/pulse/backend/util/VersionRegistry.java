@@ -0,0 +1,189 @@
+package net.flectone.pulse.backend.util;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.VersionLevel;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class VersionRegistry {
+
+    private static final int MAX_PART = 99999;
+    private static final Comparator<Version> BY_PARSED = Comparator.comparing(Version::parsed);
+
+    private final int capacity;
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+    private final Set<String> groups = ConcurrentHashMap.newKeySet();
+    private final List<Version> sorted = new ArrayList<>();
+
+    private volatile int[] ranks = new int[0];
+    private volatile boolean ranksStale;
+
+    public VersionRegistry(PulseProperties pulseProperties) {
+        this.capacity = pulseProperties.getChart().getVersionCapacity();
+    }
+
+    public Version register(String raw) {
+        Version version = versions.get(raw);
+        if (version != null) return version;
+
+        synchronized (this) {
+            version = versions.get(raw);
+            if (version != null) return version;
+
+            if (sorted.size() >= capacity) {
+                return parse(-1, raw);
+            }
+
+            version = parse(sorted.size(), raw);
+
+            int index = Collections.binarySearch(sorted, version, BY_PARSED);
+            sorted.add(index < 0 ? -index - 1 : index, version);
+            ranksStale = true;
+
+            groups.add(version.group(VersionLevel.MAJOR));
+            groups.add(version.group(VersionLevel.MINOR));
+            versions.put(raw, version);
+
+            return version;
+        }
+    }
+
+    public int compare(String first, String second) {
+        Version firstVersion = register(first);
+        Version secondVersion = register(second);
+
+        int[] currentRanks = getRanks();
+        if (firstVersion.id() < 0 || secondVersion.id() < 0
+                || firstVersion.id() >= currentRanks.length || secondVersion.id() >= currentRanks.length) {
+            return firstVersion.parsed().compareTo(secondVersion.parsed());
+        }
+
+        return Integer.compare(currentRanks[firstVersion.id()], currentRanks[secondVersion.id()]);
+    }
+
+    public Comparator<String> comparator() {
+        return this::compare;
+    }
+
+    public boolean containsGroup(String group) {
+        return groups.contains(group);
+    }
+
+    public Map<String, Long> rollup(Map<String, Long> distribution, VersionLevel level, String within) {
+        Map<String, Long> counts = new HashMap<>();
+        Map<String, Version> representatives = new HashMap<>();
+        long[] other = new long[1];
+
+        distribution.forEach((raw, count) -> {
+            if (MetricsSnapshot.OTHER.equals(raw)) {
+                other[0] += count;
+                return;
+            }
+
+            Version version = register(raw);
+            if (within != null && !version.belongsTo(within)) return;
+
+            String group = version.group(level);
+            counts.merge(group, count, Long::sum);
+            representatives.putIfAbsent(group, version);
+        });
+
+        Comparator<String> groupComparator = level == VersionLevel.PATCH
+                ? comparator()
+                : Comparator.comparing(representatives::get, Comparator.comparingInt(Version::major)
+                        .thenComparingInt(version -> level == VersionLevel.MAJOR ? 0 : version.minor()));
+
+        Map<String, Long> rolledUp = counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(groupComparator.reversed()))
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
+                        (a, b) -> a,
+                        LinkedHashMap::new
+                ));
+
+        if (within == null && other[0] > 0) {
+            rolledUp.put(MetricsSnapshot.OTHER, other[0]);
+        }
+
+        return rolledUp;
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    private int[] getRanks() {
+        if (!ranksStale) return ranks;
+
+        synchronized (this) {
+            if (!ranksStale) return ranks;
+
+            int[] rebuilt = new int[sorted.size()];
+            int rank = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                if (i > 0 && BY_PARSED.compare(sorted.get(i), sorted.get(i - 1)) != 0) {
+                    rank = i;
+                }
+
+                rebuilt[sorted.get(i).id()] = rank;
+            }
+
+            ranks = rebuilt;
+            ranksStale = false;
+
+            return rebuilt;
+        }
+    }
+
+    private static Version parse(int id, String raw) {
+        int[] parts = new int[3];
+        int length = raw.length();
+
+        int index = 0;
+        while (index < length && !Character.isDigit(raw.charAt(index))) {
+            index++;
+        }
+
+        int part = 0;
+        while (index < length && part < parts.length) {
+            int start = index;
+            int value = 0;
+            while (index < length && Character.isDigit(raw.charAt(index))) {
+                value = Math.min(MAX_PART, value * 10 + raw.charAt(index) - '0');
+                index++;
+            }
+
+            if (start == index) break;
+
+            parts[part++] = value;
+            if (index >= length || raw.charAt(index) != '.') break;
+
+            index++;
+        }
+
+        return new Version(id, raw, new ComparableVersion(raw), parts[0], parts[1], parts[2]);
+    }
+
+    public record Version(int id, String raw, ComparableVersion parsed, int major, int minor, int patch) {
+
+        public String group(VersionLevel level) {
+            return switch (level) {
+                case MAJOR -> String.valueOf(major);
+                case MINOR -> major + "." + minor;
+                case PATCH -> raw;
+            };
+        }
+
+        public boolean belongsTo(String group) {
+            return group.equals(group(VersionLevel.MAJOR)) || group.equals(group(VersionLevel.MINOR));
+        }
+
+    }
+}
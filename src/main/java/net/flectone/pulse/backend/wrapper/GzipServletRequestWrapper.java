@@ -4,6 +4,7 @@ import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
+import net.flectone.pulse.backend.jfr.GzipDecompressionEvent;
 
 import java.io.*;
 import java.util.zip.GZIPInputStream;
@@ -14,7 +15,18 @@ public class GzipServletRequestWrapper extends HttpServletRequestWrapper {
 
     public GzipServletRequestWrapper(HttpServletRequest request) throws IOException {
         super(request);
+
+        GzipDecompressionEvent event = new GzipDecompressionEvent();
+        event.begin();
+
         body = decompress(request.getInputStream());
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.compressedBytes = request.getContentLengthLong();
+            event.decompressedBytes = body.length;
+            event.commit();
+        }
     }
 
     private byte[] decompress(InputStream inputStream) throws IOException {
@@ -0,0 +1,48 @@
+package net.flectone.pulse.backend.dto;
+
+import net.flectone.pulse.backend.model.ChartWindow;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChartParamsTest {
+
+    @Test
+    void canonicalizesVersionGroups() {
+        assertThat(within("1.21")).isEqualTo("1.21");
+        assertThat(within("01.021")).isEqualTo("1.21");
+        assertThat(within("00001.00021")).isEqualTo("1.21");
+        assertThat(within("007")).isEqualTo("7");
+        assertThat(within("0")).isEqualTo("0");
+    }
+
+    @Test
+    void dropsMalformedVersionGroups() {
+        assertThat(within("1.21.4")).isNull();
+        assertThat(within("123456")).isNull();
+        assertThat(within("1.")).isNull();
+        assertThat(within("latest")).isNull();
+        assertThat(within(null)).isNull();
+    }
+
+    @Test
+    void keysEqualAfterCanonicalization() {
+        assertThat(new ChartParams(null, null, null, null, null, "patch", "01.21"))
+                .isEqualTo(new ChartParams(null, null, null, null, null, "PATCH", "1.021"));
+    }
+
+    @Test
+    void normalizesUnusedParamsForCacheKeys() {
+        ChartParams params = new ChartParams(null, null, null, "365d", null, "minor", "1.21");
+
+        assertThat(params.normalize(ChartWindow.HOUR, ChartWindow.DAY, false))
+                .isEqualTo(new ChartParams(null, null, null, "1d", null, null, null));
+        assertThat(params.normalize(ChartWindow.DAY, ChartWindow.MONTH, true))
+                .isEqualTo(new ChartParams(null, null, null, "30d", null, "minor", "1.21"));
+        assertThat(ChartParams.DEFAULT.normalize(ChartWindow.HOUR, ChartWindow.DAY, true)).isEqualTo(ChartParams.DEFAULT);
+    }
+
+    private static String within(String within) {
+        return new ChartParams(null, null, null, null, null, null, within).within();
+    }
+}
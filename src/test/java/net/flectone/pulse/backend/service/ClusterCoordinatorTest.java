@@ -0,0 +1,129 @@
+package net.flectone.pulse.backend.service;
+
+import net.flectone.pulse.backend.FlectonePulseBackendApplication;
+import net.flectone.pulse.backend.aspect.CachedHourlySvgAspect;
+import net.flectone.pulse.backend.controller.StatsController;
+import net.flectone.pulse.backend.dto.WindowParams;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterCoordinatorTest {
+
+    private static final Duration FOLLOWER_WAIT = Duration.ofSeconds(5);
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startNodes() {
+        first = startNode("node-a");
+        second = startNode("node-b");
+
+        first.getBean(ClusterCoordinator.class).renewLease();
+        second.getBean(ClusterCoordinator.class).renewLease();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (second != null) second.close();
+        if (first != null) first.close();
+    }
+
+    @Test
+    void exactlyOneNodeHoldsTheLease() {
+        assertThat(first.getBean(ClusterCoordinator.class).isLeader())
+                .isNotEqualTo(second.getBean(ClusterCoordinator.class).isLeader());
+    }
+
+    @Test
+    void followerLoadsChartsPublishedByTheLeader() {
+        byte[] body = "<svg/>".getBytes(StandardCharsets.UTF_8);
+
+        coordinator(leader()).publish("published:1", ResponseEntity.ok().contentType(MediaType.APPLICATION_XML).body(body));
+
+        assertThat(coordinator(follower()).load("published:1"))
+                .isInstanceOfSatisfying(ResponseEntity.class, entity -> assertThat(entity.getBody()).isEqualTo(body));
+    }
+
+    @Test
+    void followerDoesNotPublish() {
+        coordinator(follower()).publish("follower:1", ResponseEntity.ok().body(new byte[]{1}));
+
+        assertThat(coordinator(leader()).load("follower:1")).isNull();
+    }
+
+    @Test
+    void followerRendersKeysTheLeaderDoesNotPrewarm() {
+        StatsController statsController = follower().getBean(StatsController.class);
+
+        long start = System.nanoTime();
+        ResponseEntity<byte[]> response = statsController.getRamUsageStats(new WindowParams("1d"));
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(Duration.ofNanos(elapsed)).isLessThan(FOLLOWER_WAIT.dividedBy(2));
+    }
+
+    @Test
+    void followerWaitsForPrewarmedKeys() throws Exception {
+        Method method = StatsController.class.getMethod("getJavaVersionsStats", WindowParams.class);
+        String baseKey = CachedHourlySvgAspect.getBaseKey(method, new Object[]{WindowParams.DEFAULT});
+        String key = CachedHourlySvgAspect.createKey(baseKey, Instant.now().truncatedTo(ChronoUnit.HOURS));
+        byte[] body = "{\"shared\":true}".getBytes(StandardCharsets.UTF_8);
+
+        follower().getBean(CachedHourlySvgAspect.class).registerPrewarmed(baseKey);
+
+        CompletableFuture.runAsync(
+                () -> coordinator(leader()).publish(key, ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body)),
+                CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS)
+        );
+
+        ResponseEntity<byte[]> response = follower().getBean(StatsController.class).getJavaVersionsStats(WindowParams.DEFAULT);
+
+        assertThat(response.getBody()).isEqualTo(body);
+    }
+
+    private static ConfigurableApplicationContext leader() {
+        return coordinator(first).isLeader() ? first : second;
+    }
+
+    private static ConfigurableApplicationContext follower() {
+        return leader() == first ? second : first;
+    }
+
+    private static ClusterCoordinator coordinator(ConfigurableApplicationContext context) {
+        return context.getBean(ClusterCoordinator.class);
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(FlectonePulseBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--pulse.cache.prewarm-enabled=false",
+                "--pulse.journal.enabled=false",
+                "--pulse.cluster.enabled=true",
+                "--pulse.cluster.node-id=" + nodeId,
+                "--pulse.cluster.follower-wait=" + FOLLOWER_WAIT.toSeconds() + "s"
+        );
+    }
+}
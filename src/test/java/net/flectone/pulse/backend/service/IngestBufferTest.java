@@ -0,0 +1,148 @@
+package net.flectone.pulse.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestBufferTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PulseProperties pulseProperties = new PulseProperties();
+    private final RecordingMetricsService metricsService = new RecordingMetricsService(pulseProperties, meterRegistry);
+    private final List<IngestBuffer> buffers = new ArrayList<>();
+
+    @TempDir
+    private Path directory;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        for (IngestBuffer buffer : buffers) {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    void boundsTheWorkOfOneFlush() {
+        IngestBuffer buffer = createBuffer();
+        for (int i = 0; i < 25; i++) {
+            buffer.submit(IngestJournalTest.report("server-" + i));
+        }
+
+        assertThat(buffer.flush()).isTrue();
+        assertThat(metricsService.batches).hasSize(2);
+        assertThat(metricsService.saved()).hasSize(20);
+
+        assertThat(buffer.flush()).isFalse();
+        assertThat(metricsService.saved()).hasSize(25);
+    }
+
+    @Test
+    void retriesAFailedBatch() {
+        IngestBuffer buffer = createBuffer();
+        for (int i = 0; i < 5; i++) {
+            buffer.submit(IngestJournalTest.report("server-" + i));
+        }
+
+        metricsService.failures = 1;
+        assertThat(buffer.flush()).isTrue();
+        assertThat(metricsService.saved()).isEmpty();
+
+        assertThat(buffer.flush()).isFalse();
+        assertThat(metricsService.saved()).extracting(MetricsDTO::getServerId)
+                .containsExactly("server-0", "server-1", "server-2", "server-3", "server-4");
+    }
+
+    @Test
+    void replaysJournaledReportsAfterACrash() throws InterruptedException {
+        IngestJournal crashedJournal = createJournal();
+        IngestBuffer crashed = new IngestBuffer(metricsService, crashedJournal, pulseProperties, meterRegistry);
+        for (int i = 0; i < 15; i++) {
+            crashed.submit(IngestJournalTest.report("server-" + i));
+        }
+
+        metricsService.failures = Integer.MAX_VALUE;
+        crashed.flush();
+        metricsService.failures = 0;
+
+        IngestBuffer buffer = createBuffer();
+        buffer.replay();
+        buffer.flush();
+
+        assertThat(metricsService.saved()).hasSize(15);
+
+        buffer.shutdown();
+        assertThat(createJournal().drainRecovered()).isEmpty();
+    }
+
+    @Test
+    void drainsEverythingOnShutdown() throws InterruptedException {
+        IngestBuffer buffer = createBuffer();
+        for (int i = 0; i < 45; i++) {
+            buffer.submit(IngestJournalTest.report("server-" + i));
+        }
+
+        buffer.shutdown();
+
+        assertThat(metricsService.saved()).hasSize(45);
+        assertThat(createJournal().drainRecovered()).isEmpty();
+    }
+
+    private IngestBuffer createBuffer() {
+        IngestBuffer buffer = new IngestBuffer(metricsService, createJournal(), pulseProperties, meterRegistry);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private IngestJournal createJournal() {
+        pulseProperties.getJournal().setDirectory(directory.toString());
+        pulseProperties.getJournal().setBatchSize(10);
+        pulseProperties.getJournal().setMaxBatchesPerFlush(2);
+        pulseProperties.getJournal().setFlushInterval(Duration.ofHours(1));
+        pulseProperties.getJournal().setFsync(false);
+
+        return new IngestJournal(pulseProperties, objectMapper, meterRegistry);
+    }
+
+    private static class RecordingMetricsService extends MetricsService {
+
+        private final List<List<MetricsDTO>> batches = new ArrayList<>();
+        private int failures;
+
+        private RecordingMetricsService(PulseProperties pulseProperties, MeterRegistry meterRegistry) {
+            super(null, new IngestConcurrencyLimiter(pulseProperties, meterRegistry), new Gson(), meterRegistry);
+        }
+
+        @Override
+        public void saveAllMetrics(List<MetricsDTO> metrics) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Database is down");
+            }
+
+            batches.add(List.copyOf(metrics));
+        }
+
+        @Override
+        public void saveMetrics(MetricsDTO metricsDTO) {
+            batches.add(List.of(metricsDTO));
+        }
+
+        private List<MetricsDTO> saved() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+}
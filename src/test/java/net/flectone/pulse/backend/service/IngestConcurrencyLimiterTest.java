@@ -0,0 +1,86 @@
+package net.flectone.pulse.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.flectone.pulse.backend.config.PulseProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestConcurrencyLimiterTest {
+
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(100);
+    private static final long SLOW = TARGET_LATENCY.toNanos() * 2;
+    private static final long FAST = TARGET_LATENCY.toNanos() / 2;
+
+    @Test
+    void rejectsAboveTheLimit() {
+        IngestConcurrencyLimiter limiter = createLimiter();
+
+        for (int i = 0; i < 16; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void decreasesOncePerLatencyWindow() throws InterruptedException {
+        IngestConcurrencyLimiter limiter = createLimiter();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(SLOW, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(14);
+
+        Thread.sleep(TARGET_LATENCY.toMillis() + 20);
+        limiter.onSample(0, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void neverDropsBelowTheMinimum() throws InterruptedException {
+        IngestConcurrencyLimiter limiter = createLimiter();
+
+        for (int i = 0; i < 40; i++) {
+            limiter.onSample(SLOW, false);
+            Thread.sleep(TARGET_LATENCY.toMillis() / 10 + 1);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void growsOnlyWhileUtilized() {
+        IngestConcurrencyLimiter limiter = createLimiter();
+
+        for (int i = 0; i < 32; i++) {
+            limiter.onSample(FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(16);
+
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 32; i++) {
+            limiter.onSample(FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(16);
+    }
+
+    private static IngestConcurrencyLimiter createLimiter() {
+        PulseProperties pulseProperties = new PulseProperties();
+        pulseProperties.getLoadShedding().setTargetLatency(TARGET_LATENCY);
+
+        return new IngestConcurrencyLimiter(pulseProperties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,124 @@
+package net.flectone.pulse.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestJournalTest {
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replaysUncompletedReportsAfterRestart() throws IOException {
+        IngestJournal journal = openJournal(DataSize.ofMegabytes(1));
+        long first = journal.append(report("first"));
+        long second = journal.append(report("second"));
+        long third = journal.append(report("third"));
+        journal.complete(List.of(first));
+
+        List<IngestJournal.Entry> recovered = openJournal(DataSize.ofMegabytes(1)).drainRecovered();
+
+        assertThat(recovered).extracting(IngestJournal.Entry::sequence).containsExactly(second, third);
+        assertThat(recovered).extracting(entry -> entry.metricsDTO().getServerId()).containsExactly("second", "third");
+        assertThat(recovered.get(0).metricsDTO()).isEqualTo(report("second"));
+    }
+
+    @Test
+    void continuesSequencesAfterCompletedReports() throws IOException {
+        IngestJournal journal = openJournal(DataSize.ofMegabytes(1));
+        long first = journal.append(report("first"));
+        long second = journal.append(report("second"));
+        journal.complete(List.of(second, first));
+
+        IngestJournal reopened = openJournal(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.drainRecovered()).isEmpty();
+        assertThat(reopened.append(report("third"))).isGreaterThan(second);
+    }
+
+    @Test
+    void stopsReplayAtATornRecord() throws IOException {
+        IngestJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(report("first"));
+        journal.append(report("second"));
+        journal.append(report("third"));
+
+        long offset = 0;
+        for (String serverId : List.of("first", "second")) {
+            offset += HEADER_SIZE + objectMapper.writeValueAsBytes(report(serverId)).length;
+        }
+
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'#', '#', '#'}), offset + HEADER_SIZE);
+        }
+
+        assertThat(openJournal(DataSize.ofMegabytes(1)).drainRecovered())
+                .extracting(entry -> entry.metricsDTO().getServerId())
+                .containsExactly("first", "second");
+    }
+
+    @Test
+    void deletesSegmentsOnceTheirReportsAreCompleted() throws IOException {
+        DataSize segmentSize = DataSize.ofBytes((HEADER_SIZE + objectMapper.writeValueAsBytes(report("server-0")).length) * 3L);
+        IngestJournal journal = openJournal(segmentSize);
+
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sequences.add(journal.append(report("server-" + i)));
+        }
+
+        assertThat(segments()).hasSizeGreaterThan(3);
+
+        journal.complete(sequences.subList(0, 6));
+        assertThat(openJournal(segmentSize).drainRecovered()).hasSize(4);
+
+        journal.complete(sequences.subList(6, 10));
+        assertThat(segments()).hasSize(2);
+        assertThat(openJournal(segmentSize).drainRecovered()).isEmpty();
+    }
+
+    private IngestJournal openJournal(DataSize segmentSize) {
+        PulseProperties pulseProperties = new PulseProperties();
+        pulseProperties.getJournal().setDirectory(directory.toString());
+        pulseProperties.getJournal().setSegmentSize(segmentSize);
+
+        return new IngestJournal(pulseProperties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    static MetricsDTO report(String serverId) {
+        return new MetricsDTO(
+                "Paper", "1.21.4", "Linux", "6.1", "amd64", "21.0.5", 4, 8L << 30,
+                "US", "1.0.0", "en_us", "true", "false", "SQLITE", 3,
+                Map.of("chat", "true"), Instant.parse("2025-01-01T12:00:00Z"), serverId
+        );
+    }
+}
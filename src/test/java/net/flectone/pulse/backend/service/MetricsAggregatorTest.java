@@ -0,0 +1,90 @@
+package net.flectone.pulse.backend.service;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.dto.MetricsDTO;
+import net.flectone.pulse.backend.model.ChartWindow;
+import net.flectone.pulse.backend.model.MetricsDimension;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.VersionLevel;
+import net.flectone.pulse.backend.util.VersionRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsAggregatorTest {
+
+    private static final Instant HOUR = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final PulseProperties pulseProperties = new PulseProperties();
+    private final VersionRegistry versionRegistry = new VersionRegistry(pulseProperties);
+
+    @Test
+    void countsKeptKeysExactly() {
+        List<MetricsDTO> metrics = new ArrayList<>();
+        for (int i = 0; i < 50; i++) metrics.add(report("US", "1.21.4", Map.of()));
+        for (int i = 0; i < 30; i++) metrics.add(report("DE", "1.21.4", Map.of()));
+        for (int i = 0; i < 40; i++) metrics.add(report("X" + i, "1.21.4", Map.of()));
+
+        MetricsSnapshot snapshot = createAggregator(2, 4).aggregate(metrics, HOUR, ChartWindow.HOUR);
+
+        assertThat(snapshot.getDistribution(MetricsDimension.LOCATION)).containsExactly(
+                Map.entry("US", 50L),
+                Map.entry("DE", 30L),
+                Map.entry(MetricsSnapshot.OTHER, 40L)
+        );
+    }
+
+    @Test
+    void keepsVersionedDimensionsUnfoldedForRollup() {
+        List<MetricsDTO> metrics = new ArrayList<>();
+        for (int patch = 0; patch < 10; patch++) {
+            for (int i = 0; i <= patch; i++) metrics.add(report("US", "1.21." + patch, Map.of()));
+        }
+        for (int patch = 0; patch < 5; patch++) metrics.add(report("US", "1.20." + patch, Map.of()));
+
+        MetricsSnapshot snapshot = createAggregator(2, 64).aggregate(metrics, HOUR, ChartWindow.HOUR);
+        Map<String, Long> versions = snapshot.getDistribution(MetricsDimension.SERVER_VERSION);
+
+        assertThat(versions).hasSize(15).doesNotContainKey(MetricsSnapshot.OTHER);
+        assertThat(versions.keySet()).startsWith("1.21.9", "1.21.8").endsWith("1.20.0");
+
+        assertThat(versionRegistry.rollup(versions, VersionLevel.MINOR, null))
+                .containsExactly(Map.entry("1.21", 55L), Map.entry("1.20", 5L));
+
+        assertThat(snapshot.getDistribution(MetricsDimension.SERVER_VERSION, 2))
+                .containsExactly(Map.entry("1.21.9", 10L), Map.entry("1.21.8", 9L), Map.entry(MetricsSnapshot.OTHER, 41L));
+    }
+
+    @Test
+    void countsUntrackedModulesAsOther() {
+        List<MetricsDTO> metrics = new ArrayList<>();
+        for (int i = 0; i < 10; i++) metrics.add(report("US", "1.21.4", Map.of("chat", "true", "tab", "true")));
+        for (int i = 0; i < 6; i++) metrics.add(report("US", "1.21.4", Map.of("extra" + i, "true")));
+        metrics.add(report("US", "1.21.4", Map.of("chat", "false", "disabled", "false")));
+
+        Map<String, Long> modules = createAggregator(2, 4).aggregate(metrics, HOUR, ChartWindow.HOUR).modules();
+
+        assertThat(modules).containsEntry("chat", 10L).containsEntry("tab", 10L).containsKey(MetricsSnapshot.OTHER);
+        assertThat(modules.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(26L);
+        assertThat(modules.get(MetricsSnapshot.OTHER)).isLessThanOrEqualTo(metrics.size());
+    }
+
+    private MetricsAggregator createAggregator(int topK, int sketchCapacity) {
+        pulseProperties.getChart().setTopK(topK);
+        pulseProperties.getChart().setSketchCapacity(sketchCapacity);
+
+        return new MetricsAggregator(pulseProperties, versionRegistry);
+    }
+
+    private static MetricsDTO report(String location, String serverVersion, Map<String, String> modules) {
+        return new MetricsDTO(
+                "Paper", serverVersion, "Linux", "6.1", "amd64", "21.0.5", 4, 8L << 30,
+                location, "1.0.0", "en_us", "true", "false", "SQLITE", 1, modules, HOUR, null
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package net.flectone.pulse.backend.service;
+
+import net.flectone.pulse.backend.repository.RateLimitCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rate-limit;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "pulse.rate-limit.backend=mysql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(MySqlRateLimitBackend.class)
+class MySqlRateLimitBackendTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private MySqlRateLimitBackend backend;
+
+    @Autowired
+    private RateLimitCounterRepository rateLimitCounterRepository;
+
+    @Test
+    void upsertsAllKeysAndReturnsTotals() {
+        backend.exchange(Map.of(
+                "a", new RateLimitBackend.Window(START, 1),
+                "b", new RateLimitBackend.Window(START, 2)
+        ), START.minusSeconds(60));
+
+        Map<String, RateLimitBackend.Window> totals = backend.exchange(Map.of(
+                "a", new RateLimitBackend.Window(START.plusSeconds(10), 3),
+                "b", new RateLimitBackend.Window(START.plusSeconds(10), 0),
+                "c", new RateLimitBackend.Window(START.plusSeconds(10), 1)
+        ), START.minusSeconds(50));
+
+        assertThat(totals).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "a", new RateLimitBackend.Window(START, 4),
+                "b", new RateLimitBackend.Window(START, 2),
+                "c", new RateLimitBackend.Window(START.plusSeconds(10), 1)
+        ));
+    }
+
+    @Test
+    void restartsExpiredWindowsAndDeletesThem() {
+        backend.exchange(Map.of("d", new RateLimitBackend.Window(START, 5)), START.minusSeconds(60));
+
+        Map<String, RateLimitBackend.Window> totals = backend.exchange(
+                Map.of("d", new RateLimitBackend.Window(START.plusSeconds(120), 1)), START.plusSeconds(60));
+        assertThat(totals.get("d")).isEqualTo(new RateLimitBackend.Window(START.plusSeconds(120), 1));
+
+        backend.deleteBefore(START.plusSeconds(180));
+        assertThat(rateLimitCounterRepository.existsById("d")).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package net.flectone.pulse.backend.service;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitStoreTest {
+
+    @Test
+    void admitsOneReportPerWindow() {
+        RateLimitStore store = createStore(new InMemoryRateLimitBackend(), Duration.ofMinutes(50));
+
+        assertThat(store.tryAcquire("127.0.0.1")).isTrue();
+        assertThat(store.tryAcquire("127.0.0.1")).isFalse();
+        assertThat(store.tryAcquire("127.0.0.2")).isTrue();
+    }
+
+    @Test
+    void windowSlidesFromTheFirstAdmittedReport() throws InterruptedException {
+        RateLimitStore store = createStore(new InMemoryRateLimitBackend(), Duration.ofMillis(300));
+
+        assertThat(store.tryAcquire("127.0.0.1")).isTrue();
+        Thread.sleep(150);
+        assertThat(store.tryAcquire("127.0.0.1")).isFalse();
+        Thread.sleep(200);
+        assertThat(store.tryAcquire("127.0.0.1")).isTrue();
+    }
+
+    @Test
+    void retriesAfterTheWindowEnds() {
+        RateLimitStore store = createStore(new InMemoryRateLimitBackend(), Duration.ofMinutes(50));
+
+        store.tryAcquire("127.0.0.1");
+
+        assertThat(store.tryAcquire("127.0.0.1")).isFalse();
+        assertThat(store.getRetryAfter("127.0.0.1")).isBetween(Duration.ofMinutes(49), Duration.ofMinutes(50));
+    }
+
+    @Test
+    void exchangesOnlyKeysWithNewAdmissions() {
+        List<Set<String>> exchanged = new ArrayList<>();
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend() {
+            @Override
+            public Map<String, Window> exchange(Map<String, Window> deltas, Instant cutoff) {
+                exchanged.add(Set.copyOf(deltas.keySet()));
+                return super.exchange(deltas, cutoff);
+            }
+        };
+        RateLimitStore store = createStore(backend, Duration.ofMinutes(50));
+
+        store.tryAcquire("127.0.0.1");
+        store.synchronize();
+        store.tryAcquire("127.0.0.2");
+        store.synchronize();
+        store.synchronize();
+
+        assertThat(exchanged).containsExactly(Set.of("127.0.0.1"), Set.of("127.0.0.2"));
+    }
+
+    @Test
+    void sharesAdmissionsThroughTheBackend() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend();
+        RateLimitStore first = createStore(backend, Duration.ofMinutes(50));
+        RateLimitStore second = createStore(backend, Duration.ofMinutes(50));
+
+        assertThat(first.tryAcquire("127.0.0.1")).isTrue();
+        first.synchronize();
+        second.tryAcquire("127.0.0.1");
+        second.synchronize();
+
+        assertThat(second.tryAcquire("127.0.0.1")).isFalse();
+    }
+
+    @Test
+    void backendRestartsExpiredWindows() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend();
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+
+        backend.exchange(Map.of("ip", new RateLimitBackend.Window(start, 1)), start.minusSeconds(60));
+        Map<String, RateLimitBackend.Window> sameWindow = backend.exchange(
+                Map.of("ip", new RateLimitBackend.Window(start.plusSeconds(30), 1)), start.minusSeconds(30));
+        Map<String, RateLimitBackend.Window> nextWindow = backend.exchange(
+                Map.of("ip", new RateLimitBackend.Window(start.plusSeconds(90), 1)), start.plusSeconds(30));
+
+        assertThat(sameWindow.get("ip")).isEqualTo(new RateLimitBackend.Window(start, 2));
+        assertThat(nextWindow.get("ip")).isEqualTo(new RateLimitBackend.Window(start.plusSeconds(90), 1));
+    }
+
+    private static RateLimitStore createStore(RateLimitBackend backend, Duration window) {
+        PulseProperties pulseProperties = new PulseProperties();
+        pulseProperties.getRateLimit().setWindow(window);
+
+        return new RateLimitStore(backend, pulseProperties);
+    }
+}
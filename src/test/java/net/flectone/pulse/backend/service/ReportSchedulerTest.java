@@ -0,0 +1,86 @@
+package net.flectone.pulse.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.flectone.pulse.backend.config.PulseProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:34:56Z");
+
+    private final PulseProperties pulseProperties = new PulseProperties();
+    private final IngestConcurrencyLimiter limiter = new IngestConcurrencyLimiter(pulseProperties, new SimpleMeterRegistry());
+    private final ReportScheduler scheduler = new ReportScheduler(limiter, pulseProperties);
+
+    private final long period = pulseProperties.getSchedule().getPeriod().toSeconds();
+    private final long window = pulseProperties.getRateLimit().getWindow().toSeconds();
+    private final long maxDeferral = pulseProperties.getSchedule().getMaxDeferral().toSeconds();
+
+    @Test
+    void landsOnTheFingerprintSlotAfterTheRateLimitWindow() {
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10000; i++) {
+            long fingerprint = random.nextLong();
+            long delay = scheduler.nextReportIn(fingerprint, NOW);
+
+            assertThat(delay).isBetween(window, window + period - 1);
+            assertThat(Math.floorMod(NOW.getEpochSecond() + delay, period)).isEqualTo(Math.floorMod(fingerprint, period));
+        }
+    }
+
+    @Test
+    void keepsTheSlotAcrossReports() {
+        long fingerprint = 0x5DEECE66DL;
+
+        Instant next = NOW.plusSeconds(scheduler.nextReportIn(fingerprint, NOW));
+        Instant after = next.plusSeconds(scheduler.nextReportIn(fingerprint, next));
+
+        assertThat(after.getEpochSecond() - next.getEpochSecond()).isEqualTo(period);
+    }
+
+    @Test
+    void spreadsServersAcrossThePeriod() {
+        SplittableRandom random = new SplittableRandom(2);
+        int servers = 60000;
+        int[] perMinute = new int[(int) (period / 60)];
+
+        for (int i = 0; i < servers; i++) {
+            long delay = scheduler.nextReportIn(random.nextLong(), NOW);
+            perMinute[(int) (Math.floorMod(NOW.getEpochSecond() + delay, period) / 60)]++;
+        }
+
+        int mean = servers / perMinute.length;
+        for (int count : perMinute) {
+            assertThat(count).isBetween(mean / 2, mean * 2);
+        }
+    }
+
+    @Test
+    void defersWithinTheBoundUnderLoad() {
+        SplittableRandom random = new SplittableRandom(3);
+        long[] fingerprints = random.longs(1000).toArray();
+
+        long[] idle = new long[fingerprints.length];
+        for (int i = 0; i < fingerprints.length; i++) {
+            idle[i] = scheduler.nextReportIn(fingerprints[i], NOW);
+        }
+
+        while (limiter.tryAcquire()) {}
+
+        int deferred = 0;
+        for (int i = 0; i < fingerprints.length; i++) {
+            long extra = scheduler.nextReportIn(fingerprints[i], NOW) - idle[i];
+
+            assertThat(extra).isBetween(0L, maxDeferral);
+            if (extra > 0) deferred++;
+        }
+
+        assertThat(deferred).isGreaterThan(fingerprints.length / 2);
+    }
+}
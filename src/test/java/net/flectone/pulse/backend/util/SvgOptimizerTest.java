@@ -0,0 +1,154 @@
+package net.flectone.pulse.backend.util;
+
+import net.flectone.pulse.backend.generator.BarDistributionSvg;
+import net.flectone.pulse.backend.generator.DashboardSvg;
+import net.flectone.pulse.backend.generator.SvgGenerator;
+import net.flectone.pulse.backend.generator.TimeSeriesSvg;
+import net.flectone.pulse.backend.model.SvgColorPalette;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SvgOptimizerTest {
+
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    private static final int HOURS = 30 * 24;
+
+    @Test
+    void halvesTimeSeriesOutput() throws Exception {
+        assertHalved(createTimeSeries());
+    }
+
+    @Test
+    void halvesDashboardOutput() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            List<DashboardSvg.Section> sections = List.of(
+                    new DashboardSvg.Section("Players and servers", createTimeSeries(), true),
+                    new DashboardSvg.Section("Server versions", new BarDistributionSvg(createDistribution(12), "", ""), false),
+                    new DashboardSvg.Section("Java versions", new BarDistributionSvg(createDistribution(8), "", ""), false)
+            );
+
+            assertHalved(new DashboardSvg(SvgColorPalette.defaultPalette(), sections, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void roundsCoordinatesAndFoldsRepeatedStyles() {
+        Document document = SvgUtils.createSvgDocument(100, 100);
+        Element root = document.getDocumentElement();
+        root.appendChild(document.createElementNS(SVG_NAMESPACE, "g"));
+
+        for (int i = 0; i < 2; i++) {
+            Element path = document.createElementNS(SVG_NAMESPACE, "path");
+            path.setAttribute("d", "M 10.123456 20.987654 L 30.5 40.25");
+            path.setAttribute("fill", "rgb(255,255,255)");
+            path.setAttribute("stroke", "none");
+            root.appendChild(path);
+        }
+
+        SvgOptimizer.optimize(root, 1);
+        String svg = SvgOptimizer.serialize(root);
+
+        assertThat(svg)
+                .contains("d=\"m10.1 21l20.4 19.3\"")
+                .contains("<style>.a{")
+                .contains("fill:#fff")
+                .doesNotContain("<g")
+                .doesNotContain("rgb(");
+        assertThat(svg.split("class=\"a\"", -1)).hasSize(3);
+    }
+
+    @Test
+    void sharesRepeatedPathData() {
+        Document document = SvgUtils.createSvgDocument(100, 100);
+        Element root = document.getDocumentElement();
+
+        StringBuilder data = new StringBuilder("M 0 50");
+        for (int i = 1; i <= 20; i++) {
+            data.append(" L ").append(i * 5).append(' ').append(50 + (i % 2) * 10.25);
+        }
+
+        for (String fill : List.of("rgb(255,0,0)", "none")) {
+            Element path = document.createElementNS(SVG_NAMESPACE, "path");
+            path.setAttribute("d", data.toString());
+            path.setAttribute("style", "fill:" + fill);
+            root.appendChild(path);
+        }
+
+        SvgOptimizer.optimize(root, 1);
+        String svg = SvgOptimizer.serialize(root);
+
+        assertThat(svg)
+                .contains("<defs><path d=\"m0 50l5 10.3")
+                .contains("id=\"pa\"")
+                .contains("<use style=\"fill:#f00\" xlink:href=\"#pa\"/>")
+                .contains("<use style=\"fill:none\" xlink:href=\"#pa\"/>");
+        assertThat(svg.split(" d=\"", -1)).hasSize(2);
+    }
+
+    private static void assertHalved(SvgGenerator generator) throws Exception {
+        generator.setPrecision(-1);
+        int original = generator.generate().getBytes(StandardCharsets.UTF_8).length;
+
+        generator.setPrecision(SvgGenerator.DEFAULT_PRECISION);
+        int optimized = generator.generate().getBytes(StandardCharsets.UTF_8).length;
+
+        assertThat(optimized).isLessThanOrEqualTo(original / 2);
+    }
+
+    private static TimeSeriesSvg createTimeSeries() {
+        Instant today = Instant.parse("2025-01-01T00:00:00Z");
+
+        List<Instant> days = new ArrayList<>();
+        for (int i = HOURS / 24 - 1; i >= 0; i--) {
+            days.add(today.minus(i, ChronoUnit.DAYS));
+        }
+
+        return new TimeSeriesSvg(
+                createSeries(days, 20_000),
+                createSeries(days, 2_000),
+                days,
+                24,
+                " players",
+                " servers"
+        );
+    }
+
+    private static Map<Instant, Map<Integer, Long>> createSeries(List<Instant> days, long base) {
+        Random random = new Random(base);
+
+        Map<Instant, Map<Integer, Long>> series = new HashMap<>();
+        for (int i = 0; i < HOURS; i++) {
+            double wave = Math.sin(i / 24.0 * Math.PI * 2) * 0.3 + 1;
+            long value = (long) (base * wave) + random.nextInt((int) (base / 10));
+
+            series.computeIfAbsent(days.get(i / 24), k -> new HashMap<>()).put(i % 24, value);
+        }
+
+        return series;
+    }
+
+    private static Map<String, Long> createDistribution(int categories) {
+        Random random = new Random(categories);
+
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < categories; i++) {
+            distribution.put("1.21." + i, 1L + random.nextInt(5000));
+        }
+
+        return distribution;
+    }
+}
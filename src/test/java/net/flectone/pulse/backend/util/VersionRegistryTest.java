@@ -0,0 +1,96 @@
+package net.flectone.pulse.backend.util;
+
+import net.flectone.pulse.backend.config.PulseProperties;
+import net.flectone.pulse.backend.model.MetricsSnapshot;
+import net.flectone.pulse.backend.model.VersionLevel;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionRegistryTest {
+
+    private static final List<String> VERSIONS = List.of(
+            "1.8.8", "1.12.2", "1.16.5", "1.20", "1.20.1", "1.20.6", "1.21", "1.21.1", "1.21.4",
+            "0.9.0-SNAPSHOT", "1.0.0", "1.0", "1.0.1", "1.10.0", "2.0.0-beta", "2.0.0",
+            "17", "17.0.10", "21", "21.0.2", "unknown", "null"
+    );
+
+    @Test
+    void ordersLikeComparableVersionInAnyInsertionOrder() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<String> shuffled = new ArrayList<>(VERSIONS);
+            Collections.shuffle(shuffled, new Random(seed));
+
+            VersionRegistry versionRegistry = createRegistry(4096);
+            List<String> actual = new ArrayList<>();
+            for (String version : shuffled) {
+                versionRegistry.register(version);
+                actual.add(version);
+                actual.sort(versionRegistry.comparator());
+            }
+
+            assertThat(actual).isSortedAccordingTo(Comparator.comparing(ComparableVersion::new));
+
+            for (String first : VERSIONS) {
+                for (String second : VERSIONS) {
+                    assertThat(Integer.signum(versionRegistry.compare(first, second)))
+                            .isEqualTo(Integer.signum(new ComparableVersion(first).compareTo(new ComparableVersion(second))));
+                }
+            }
+        }
+    }
+
+    @Test
+    void fallsBackAboveCapacity() {
+        VersionRegistry versionRegistry = createRegistry(4);
+        VERSIONS.forEach(versionRegistry::register);
+
+        assertThat(versionRegistry.size()).isEqualTo(4);
+        assertThat(versionRegistry.compare("1.21.4", "1.8.8")).isPositive();
+        assertThat(versionRegistry.compare("1.0", "1.0.0")).isZero();
+    }
+
+    @Test
+    void tracksRegisteredGroups() {
+        VersionRegistry versionRegistry = createRegistry(4096);
+        versionRegistry.register("1.21.4");
+
+        assertThat(versionRegistry.containsGroup("1")).isTrue();
+        assertThat(versionRegistry.containsGroup("1.21")).isTrue();
+        assertThat(versionRegistry.containsGroup("1.20")).isFalse();
+        assertThat(versionRegistry.containsGroup("2")).isFalse();
+    }
+
+    @Test
+    void rollsUpAndDrillsIntoGroups() {
+        VersionRegistry versionRegistry = createRegistry(4096);
+
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        distribution.put("1.21.4", 5L);
+        distribution.put("1.21.1", 3L);
+        distribution.put("1.20.6", 2L);
+        distribution.put("1.8.8", 1L);
+        distribution.put(MetricsSnapshot.OTHER, 4L);
+
+        assertThat(versionRegistry.rollup(distribution, VersionLevel.MINOR, null))
+                .containsExactly(
+                        Map.entry("1.21", 8L),
+                        Map.entry("1.20", 2L),
+                        Map.entry("1.8", 1L),
+                        Map.entry(MetricsSnapshot.OTHER, 4L)
+                );
+
+        assertThat(versionRegistry.rollup(distribution, VersionLevel.PATCH, "1.21"))
+                .containsExactly(Map.entry("1.21.4", 5L), Map.entry("1.21.1", 3L));
+    }
+
+    private static VersionRegistry createRegistry(int capacity) {
+        PulseProperties pulseProperties = new PulseProperties();
+        pulseProperties.getChart().setVersionCapacity(capacity);
+
+        return new VersionRegistry(pulseProperties);
+    }
+}